@@ -4,8 +4,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/cart")
@@ -84,33 +86,90 @@ public class CartController {
         }
     }
     
+    /**
+     * 장바구니 일괄 변경 (한 트랜잭션으로 적용 후 장바구니와 합계 응답)
+     * 요청: {"operations": [{"op": "add", "productId": 1, "productName": "...", "productPrice": 1000, "quantity": 1},
+     *                       {"op": "set", "itemId": 10, "quantity": 3}, {"op": "remove", "itemId": 11}]}
+     */
+    @PostMapping("/{userId}/batch")
+    @SuppressWarnings("unchecked")
+    public ResponseEntity<?> applyBatch(@PathVariable Long userId, @RequestBody Map<String, Object> request) {
+        try {
+            if (!(request.get("operations") instanceof List<?> rawOperations)) {
+                return ResponseEntity.badRequest().body(Map.of("message", "operations 목록이 필요합니다"));
+            }
+            List<CartOperation> operations = new ArrayList<>(rawOperations.size());
+            for (Object raw : rawOperations) {
+                if (!(raw instanceof Map<?, ?>)) {
+                    return ResponseEntity.badRequest().body(Map.of("message", "잘못된 작업 형식입니다"));
+                }
+                operations.add(CartOperation.from((Map<String, Object>) raw));
+            }
+            
+            Map<String, Object> result = cartService.applyBatch(userId, operations);
+            if (result != null) {
+                return ResponseEntity.ok(result);
+            }
+            return ResponseEntity.badRequest().body(Map.of("message", "장바구니 일괄 변경 실패"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "서버 오류"));
+        }
+    }
+    
     /**
      * 🛒 장바구니 결제 요청 (Circuit Breaker 적용)
      */
     @PostMapping("/{userId}/payment")
-    public ResponseEntity<Map<String, Object>> processPayment(
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> processPayment(
             @PathVariable Long userId,
             @RequestHeader(value = "User-Email") String userEmail,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestBody Map<String, Object> paymentData) {
         
-        try {
-            Map<String, Object> result = cartService.processCartPayment(userId, userEmail, paymentData);
-            
-            if ("success".equals(result.get("status"))) {
-                return ResponseEntity.ok(result);
-            } else {
+        if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > 255)) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(Map.of(
+                "status", "error",
+                "message", "Idempotency-Key는 1~255자로 보내주세요"
+            )));
+        }
+        
+        // 결제 응답을 기다리는 동안 Tomcat 스레드를 반환 (Spring MVC 비동기 응답)
+        return cartService.processCartPayment(userId, userEmail, idempotencyKey, paymentData)
+            .thenApply(result -> {
+                if ("success".equals(result.get("status"))) {
+                    return ResponseEntity.ok(result);
+                }
+                // 같은 Idempotency-Key 요청이 처리 중이거나 다른 요청 본문에 재사용된 경우
+                if ("idempotency_in_progress".equals(result.get("error_type"))) {
+                    return ResponseEntity.status(409).body(result);
+                }
+                if ("idempotency_mismatch".equals(result.get("error_type"))) {
+                    return ResponseEntity.status(422).body(result);
+                }
                 // Circuit Breaker가 열린 경우 503 응답
                 if ("circuit_breaker".equals(result.get("error_type"))) {
                     return ResponseEntity.status(503).body(result);
                 }
+                // product-service에서 가격을 확인하지 못한 경우
+                if ("pricing_unavailable".equals(result.get("error_type"))) {
+                    return ResponseEntity.status(503).body(result);
+                }
+                // 클라이언트 금액이 현재 가격 기준 금액과 다른 경우 (응답의 totalAmount로 다시 확인)
+                if ("price_mismatch".equals(result.get("error_type"))) {
+                    return ResponseEntity.status(409).body(result);
+                }
+                // 결제 요청 후 응답을 받지 못해 결과를 알 수 없는 경우 (같은 Idempotency-Key 재시도에도 동일 응답)
+                if ("payment_in_doubt".equals(result.get("error_type"))) {
+                    return ResponseEntity.status(503).body(result);
+                }
                 return ResponseEntity.badRequest().body(result);
-            }
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError().body(Map.of(
+            })
+            .exceptionally(e -> ResponseEntity.internalServerError().body(Map.of(
                 "status", "error",
                 "message", "결제 처리 중 서버 오류가 발생했습니다"
-            ));
-        }
+            )));
     }
     
     /**
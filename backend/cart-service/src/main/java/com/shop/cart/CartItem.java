@@ -3,7 +3,10 @@ package com.shop.cart;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "cart_items")
+@Table(name = "cart_items", uniqueConstraints = {
+    // 사용자별 상품 1행 (동시 담기 시 중복 행 방지, INSERT ... ON DUPLICATE KEY UPDATE 기준)
+    @UniqueConstraint(name = "uk_cart_items_user_product", columnNames = {"user_id", "product_id"})
+})
 public class CartItem {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
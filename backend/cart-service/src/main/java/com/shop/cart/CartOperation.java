@@ -0,0 +1,64 @@
+package com.shop.cart;
+
+import java.util.Map;
+
+/**
+ * 장바구니 일괄 변경 요청의 작업 1건
+ * add: productId, productName, productPrice, quantity / set: itemId, quantity / remove: itemId
+ */
+public record CartOperation(String type, Long itemId, Long productId, String productName, int productPrice, int quantity) {
+
+    public static final String ADD = "add";
+    public static final String SET = "set";
+    public static final String REMOVE = "remove";
+
+    /**
+     * 요청 JSON → 작업 (필수 값이 없거나 잘못되면 IllegalArgumentException)
+     */
+    public static CartOperation from(Map<String, Object> request) {
+        Object op = request.get("op");
+        if (ADD.equals(op)) {
+            int quantity = toInt(request, "quantity");
+            if (quantity <= 0) {
+                throw new IllegalArgumentException("담을 수량은 1 이상이어야 합니다");
+            }
+            return new CartOperation(ADD, null, toLong(request, "productId"),
+                    required(request, "productName").toString(), toInt(request, "productPrice"), quantity);
+        }
+        if (SET.equals(op)) {
+            int quantity = toInt(request, "quantity");
+            if (quantity < 0) {
+                throw new IllegalArgumentException("수량은 0 이상이어야 합니다");
+            }
+            return new CartOperation(SET, toLong(request, "itemId"), null, null, 0, quantity);
+        }
+        if (REMOVE.equals(op)) {
+            return new CartOperation(REMOVE, toLong(request, "itemId"), null, null, 0, 0);
+        }
+        throw new IllegalArgumentException("op는 add, set, remove 중 하나여야 합니다: " + op);
+    }
+
+    private static Object required(Map<String, Object> request, String field) {
+        Object value = request.get(field);
+        if (value == null) {
+            throw new IllegalArgumentException(field + " 값이 필요합니다");
+        }
+        return value;
+    }
+
+    private static Long toLong(Map<String, Object> request, String field) {
+        try {
+            return Long.valueOf(required(request, field).toString());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " 값이 올바르지 않습니다");
+        }
+    }
+
+    private static int toInt(Map<String, Object> request, String field) {
+        try {
+            return Integer.parseInt(required(request, field).toString());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " 값이 올바르지 않습니다");
+        }
+    }
+}
@@ -11,6 +11,14 @@ public interface CartRepository extends JpaRepository<CartItem, Long> {
     List<CartItem> findByUserId(Long userId);
     Optional<CartItem> findByUserIdAndProductId(Long userId, Long productId);
     
+    /**
+     * 수량 변경 (SELECT 없이 UPDATE 한 번, 항목이 없으면 0)
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE CartItem c SET c.quantity = ?2 WHERE c.id = ?1")
+    int updateQuantity(Long id, int quantity);
+    
     @Modifying
     @Transactional
     @Query("DELETE FROM CartItem c WHERE c.userId = ?1")
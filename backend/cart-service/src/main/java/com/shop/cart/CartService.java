@@ -1,21 +1,23 @@
 package com.shop.cart;
 
+import com.shop.cart.store.CartStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.client.ResourceAccessException;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Service
 public class CartService {
@@ -23,31 +25,54 @@ public class CartService {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     
     @Autowired
-    private CartRepository cartRepository;
+    private CartStore cartStore;
     
     @Autowired
-    private RestTemplate restTemplate;
+    private PaymentClient paymentClient;
     
+    @Autowired
+    private ProductTrendingRecorder trendingRecorder;
+    
+    @Autowired
+    private PurchasedBasketPublisher basketPublisher;
+    
+    @Autowired
+    private PaymentIdempotencyStore idempotencyStore;
+    
+    @Autowired
+    private ProductPriceClient priceClient;
+    
+    @Value("${cart.batch.max-operations:100}")
+    private int batchMaxOperations;
+    
+    /**
+     * 장바구니 조회 (이름/가격은 캐시된 product-service 기준 값으로 다시 계산)
+     * 캐시에 없는 상품은 저장된 값으로 표시하고 백그라운드로 조회 (가격 조회를 기다리지 않음)
+     */
     public List<CartItem> getCartItems(Long userId) {
         try {
-            return cartRepository.findByUserId(userId);
+            List<CartItem> items = cartStore.findByUserId(userId);
+            return reprice(items, priceClient.getCachedPrices(productIds(items)), new HashSet<>());
         } catch (Exception e) {
             return List.of();
         }
     }
     
+    /**
+     * 장바구니 담기
+     * 요청의 이름/가격 대신 캐시된 product-service 기준 값을 저장 (캐시에 없으면 요청 값 사용, 결제 시 다시 확인)
+     */
     public CartItem addToCart(Long userId, Long productId, String productName, int productPrice, int quantity) {
         try {
-            Optional<CartItem> existingItem = cartRepository.findByUserIdAndProductId(userId, productId);
+            ProductPriceClient.ProductPrice price = priceClient.getCachedPrices(List.of(productId)).get(productId);
+            String name = price != null ? price.name() : productName;
+            int unitPrice = price != null ? price.price() : productPrice;
             
-            if (existingItem.isPresent()) {
-                CartItem item = existingItem.get();
-                item.setQuantity(item.getQuantity() + quantity);
-                return cartRepository.save(item);
-            } else {
-                CartItem newItem = new CartItem(userId, productId, productName, productPrice, quantity);
-                return cartRepository.save(newItem);
-            }
+            CartItem saved = cartStore.add(userId, productId, name, unitPrice, quantity);
+            
+            // 저장에 성공한 경우에만 인기 상품 점수 반영
+            trendingRecorder.recordCartAdd(productId, quantity);
+            return saved;
         } catch (Exception e) {
             return null;
         }
@@ -55,12 +80,7 @@ public class CartService {
     
     public CartItem updateQuantity(Long itemId, int quantity) {
         try {
-            Optional<CartItem> item = cartRepository.findById(itemId);
-            if (item.isPresent()) {
-                item.get().setQuantity(quantity);
-                return cartRepository.save(item.get());
-            }
-            return null;
+            return cartStore.updateQuantity(itemId, quantity);
         } catch (Exception e) {
             return null;
         }
@@ -68,7 +88,7 @@ public class CartService {
     
     public boolean removeFromCart(Long itemId) {
         try {
-            cartRepository.deleteById(itemId);
+            cartStore.remove(itemId);
             return true;
         } catch (Exception e) {
             return false;
@@ -78,7 +98,7 @@ public class CartService {
     @Transactional
     public boolean clearCart(Long userId) {
         try {
-            cartRepository.deleteByUserId(userId);
+            cartStore.clear(userId);
             return true;
         } catch (Exception e) {
             e.printStackTrace();
@@ -87,95 +107,299 @@ public class CartService {
     }
     
     /**
-     * 장바구니 결제 요청 (Payment Service 호출)
-     * Istio Circuit Breaker 적용
+     * 장바구니 일괄 변경 (한 트랜잭션)
+     * 작업 수가 상한을 넘거나 작업이 잘못되면 IllegalArgumentException
+     * @return {"items": [...], "itemCount", "totalQuantity", "totalAmount"}, 실패 시 null
      */
-    public Map<String, Object> processCartPayment(Long userId, String userEmail, Map<String, Object> paymentData) {
-        Map<String, Object> response = new HashMap<>();
-        
+    public Map<String, Object> applyBatch(Long userId, List<CartOperation> operations) {
+        if (operations.isEmpty() || operations.size() > batchMaxOperations) {
+            throw new IllegalArgumentException("작업은 1개 이상 " + batchMaxOperations + "개 이하로 요청해주세요");
+        }
         try {
-            // 장바구니 아이템 조회
-            List<CartItem> cartItems = getCartItems(userId);
-            if (cartItems.isEmpty()) {
-                response.put("status", "error");
-                response.put("message", "장바구니가 비어있습니다");
-                return response;
-            }
+            List<CartItem> saved = cartStore.applyBatch(userId, withCurrentPrices(operations));
+            List<CartItem> items = reprice(saved, priceClient.getCachedPrices(productIds(saved)), new HashSet<>());
             
-            // 총 금액 계산
-            int totalAmount = cartItems.stream()
-                .mapToInt(item -> item.getProductPrice() * item.getQuantity())
-                .sum();
-            
-            // 결제 데이터 준비
-            Map<String, Object> requestData = new HashMap<>();
-            if (paymentData != null) {
-                requestData.putAll(paymentData);
+            for (CartOperation operation : operations) {
+                if (CartOperation.ADD.equals(operation.type())) {
+                    trendingRecorder.recordCartAdd(operation.productId(), operation.quantity());
+                }
             }
             
-            // 기본 값 설정
-            requestData.putIfAbsent("order_id", "CART_ORDER_" + userId + "_" + System.currentTimeMillis());
-            requestData.putIfAbsent("price", totalAmount);
-            requestData.putIfAbsent("order_name", getOrderName(cartItems));
-            requestData.putIfAbsent("buyer_name", "고객");
-            requestData.putIfAbsent("buyer_email", userEmail);
-            requestData.putIfAbsent("method", "card");
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Content-Type", "application/json");
-            headers.set("User-Email", userEmail);
-            
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestData, headers);
-            
-            logger.info("Payment Service 호출: userId={}, amount={}", userId, totalAmount);
-            
-            // Istio Service Mesh를 통한 Payment Service 호출
-            ResponseEntity<Map> paymentResponse = restTemplate.exchange(
-                "http://payment-svc.app-services.svc.cluster.local:8083/api/payment/verify", 
-                HttpMethod.POST,
-                entity,
-                Map.class
-            );
-            
-            if (paymentResponse.getStatusCode().is2xxSuccessful() && paymentResponse.getBody() != null) {
-                Map<String, Object> paymentResult = paymentResponse.getBody();
-                String status = (String) paymentResult.get("status");
-                
-                if ("success".equals(status)) {
-                    // 결제 성공 시 장바구니 비우기
-                    clearCart(userId);
-                    logger.info("장바구니 결제 성공: userId={}, amount={}", userId, totalAmount);
-                    
-                    response.put("status", "success");
-                    response.put("message", "결제가 완료되었습니다");
-                    response.put("data", paymentResult.get("data"));
-                    response.put("totalAmount", totalAmount);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("items", items);
+            result.put("itemCount", items.size());
+            result.put("totalQuantity", items.stream().mapToInt(CartItem::getQuantity).sum());
+            result.put("totalAmount", items.stream().mapToInt(item -> item.getProductPrice() * item.getQuantity()).sum());
+            return result;
+        } catch (Exception e) {
+            logger.error("장바구니 일괄 변경 실패: userId={}, operations={}, error={}", userId, operations.size(), e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * 장바구니 결제 요청 (Payment Service 비동기 호출)
+     * 가격 조회와 결제 응답을 기다리는 동안 요청 스레드를 점유하지 않음 (제한 시간은 ProductPriceClient, PaymentClient 설정)
+     * 애플리케이션 Circuit Breaker/Bulkhead + Istio Circuit Breaker 적용
+     * 
+     * Idempotency-Key가 있으면 같은 키의 재요청(클라이언트/메시 재시도)은 결제 서비스를 호출하지 않고 첫 결과를 그대로 반환
+     * - 처리 중이면 error_type=idempotency_in_progress, 다른 요청 본문에 같은 키를 쓰면 error_type=idempotency_mismatch
+     * - 결제 서비스에 요청을 보내기 전에 끝난 경우(빈 장바구니, 가격 확인 실패/금액 불일치, 처리 중 예외)와
+     *   요청을 보내지 못한 경우(차단/연결 실패, error_type=circuit_breaker)는 기록을 해제하여 같은 키로 재시도 가능
+     * - 요청을 보낸 뒤 응답을 받지 못한 경우(error_type=payment_in_doubt)는 결제 서비스가 처리했을 수 있으므로
+     *   그 응답을 완료 기록으로 남겨 같은 키의 재시도가 결제 서비스를 다시 호출하지 않음
+     */
+    public CompletableFuture<Map<String, Object>> processCartPayment(Long userId, String userEmail, String idempotencyKey,
+                                                                     Map<String, Object> paymentData) {
+        if (idempotencyKey == null) {
+            return requestPayment(userId, userEmail, null, paymentData, new AtomicBoolean());
+        }
+        
+        String fingerprint = idempotencyStore.fingerprint(paymentData);
+        PaymentIdempotencyStore.Record existing = idempotencyStore.begin(userId, idempotencyKey, fingerprint);
+        if (existing != null) {
+            return CompletableFuture.completedFuture(replay(userId, existing, fingerprint));
+        }
+        
+        AtomicBoolean sent = new AtomicBoolean();
+        return requestPayment(userId, userEmail, idempotencyKey, paymentData, sent)
+            .whenComplete((result, e) -> {
+                if (!sent.get() || (result != null && "circuit_breaker".equals(result.get("error_type")))) {
+                    idempotencyStore.release(userId, idempotencyKey);
                 } else {
-                    logger.warn("장바구니 결제 실패: userId={}, response={}", userId, paymentResult);
-                    response.put("status", "error");
-                    response.put("message", "결제 처리에 실패했습니다");
-                    response.put("details", paymentResult);
+                    idempotencyStore.complete(userId, idempotencyKey, fingerprint, result != null ? result : inDoubt());
                 }
-            } else {
-                logger.error("Payment Service 응답 오류: status={}", paymentResponse.getStatusCode());
-                response.put("status", "error");
-                response.put("message", "결제 서비스 응답 오류");
-            }
-            
-        } catch (ResourceAccessException e) {
-            logger.error("Payment Service 연결 실패 (Istio Circuit Breaker 동작 가능): {}", e.getMessage());
+            });
+    }
+    
+    /**
+     * 같은 Idempotency-Key로 들어온 재요청 응답
+     */
+    private Map<String, Object> replay(Long userId, PaymentIdempotencyStore.Record existing, String fingerprint) {
+        Map<String, Object> response = new HashMap<>();
+        if (!fingerprint.equals(existing.fingerprint())) {
+            logger.warn("Idempotency-Key 재사용 (요청 본문 불일치): userId={}", userId);
+            response.put("status", "error");
+            response.put("message", "같은 Idempotency-Key로 다른 결제 요청을 보낼 수 없습니다");
+            response.put("error_type", "idempotency_mismatch");
+        } else if (!PaymentIdempotencyStore.COMPLETED.equals(existing.state()) || existing.response() == null) {
             response.put("status", "error");
-            response.put("message", "결제 서비스에 일시적으로 연결할 수 없습니다. 잠시 후 다시 시도해주세요.");
-            response.put("error_type", "circuit_breaker");
+            response.put("message", "같은 결제 요청을 처리하고 있습니다. 잠시 후 다시 시도해주세요.");
+            response.put("error_type", "idempotency_in_progress");
+        } else {
+            logger.info("중복 결제 요청, 저장된 결과 반환: userId={}", userId);
+            response.putAll(existing.response());
+            response.put("replayed", true);
+        }
+        return response;
+    }
+    
+    /**
+     * @param sent 결제 서비스에 요청을 보내기 직전에 true로 설정
+     */
+    private CompletableFuture<Map<String, Object>> requestPayment(Long userId, String userEmail, String idempotencyKey,
+                                                                  Map<String, Object> paymentData, AtomicBoolean sent) {
+        // 장바구니 아이템 조회 (결제 금액은 product-service에서 조회한 가격으로만 계산)
+        List<CartItem> storedItems = findCartItems(userId);
+        if (storedItems.isEmpty()) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "error");
+            response.put("message", "장바구니가 비어있습니다");
+            response.put("error_type", "cart_empty");
+            return CompletableFuture.completedFuture(response);
+        }
+        
+        return priceClient.getPrices(productIds(storedItems))
+            .thenCompose(prices -> {
+                Set<Long> unpriced = new HashSet<>();
+                List<CartItem> cartItems = reprice(storedItems, prices, unpriced);
+                return requestPayment(userId, userEmail, idempotencyKey, paymentData, cartItems, unpriced, sent);
+            });
+    }
+    
+    private List<CartItem> findCartItems(Long userId) {
+        try {
+            return cartStore.findByUserId(userId);
         } catch (Exception e) {
-            logger.error("장바구니 결제 처리 중 예외: {}", e.getMessage(), e);
+            return List.of();
+        }
+    }
+    
+    private CompletableFuture<Map<String, Object>> requestPayment(Long userId, String userEmail, String idempotencyKey,
+                                                                  Map<String, Object> paymentData,
+                                                                  List<CartItem> cartItems, Set<Long> unpriced,
+                                                                  AtomicBoolean sent) {
+        Map<String, Object> response = new HashMap<>();
+        
+        if (!unpriced.isEmpty()) {
+            logger.warn("가격 확인 실패로 결제 중단: userId={}, productIds={}", userId, unpriced);
+            response.put("status", "error");
+            response.put("message", "판매 중이 아니거나 가격을 확인할 수 없는 상품이 있습니다. 잠시 후 다시 시도해주세요.");
+            response.put("error_type", "pricing_unavailable");
+            response.put("productIds", unpriced);
+            return CompletableFuture.completedFuture(response);
+        }
+        
+        // 총 금액 계산
+        int totalAmount = cartItems.stream()
+            .mapToInt(item -> item.getProductPrice() * item.getQuantity())
+            .sum();
+        
+        // 클라이언트가 보낸 금액은 서버 계산 금액과 같을 때만 허용 (가격 변경 후 오래된 화면에서 결제 방지)
+        Object clientPrice = paymentData != null ? paymentData.get("price") : null;
+        if (clientPrice != null && !isSameAmount(clientPrice, totalAmount)) {
+            logger.warn("결제 금액 불일치: userId={}, client={}, server={}", userId, clientPrice, totalAmount);
             response.put("status", "error");
-            response.put("message", "결제 처리 중 오류가 발생했습니다: " + e.getMessage());
+            response.put("message", "상품 가격이 변경되었습니다. 장바구니를 다시 확인해주세요.");
+            response.put("error_type", "price_mismatch");
+            response.put("totalAmount", totalAmount);
+            return CompletableFuture.completedFuture(response);
+        }
+        
+        // 결제 데이터 준비
+        Map<String, Object> requestData = new HashMap<>();
+        if (paymentData != null) {
+            requestData.putAll(paymentData);
         }
         
+        // 기본 값 설정
+        // Idempotency-Key가 있으면 재시도에도 같은 주문 번호 사용
+        requestData.putIfAbsent("order_id", idempotencyKey != null
+            ? PaymentIdempotencyStore.orderId(userId, idempotencyKey)
+            : "CART_ORDER_" + userId + "_" + System.currentTimeMillis());
+        // 금액/주문명은 항상 서버에서 계산한 값 사용
+        requestData.put("price", totalAmount);
+        requestData.put("order_name", getOrderName(cartItems));
+        requestData.putIfAbsent("buyer_name", "고객");
+        requestData.putIfAbsent("buyer_email", userEmail);
+        requestData.putIfAbsent("method", "card");
+        
+        logger.info("Payment Service 호출: userId={}, amount={}", userId, totalAmount);
+        
+        // Istio Service Mesh를 통한 Payment Service 호출
+        sent.set(true);
+        return paymentClient.verify(requestData, userEmail)
+            .thenApply(paymentResponse -> {
+                if (paymentResponse.is2xxSuccessful() && paymentResponse.body() != null) {
+                    Map<String, Object> paymentResult = paymentResponse.body();
+                    String status = (String) paymentResult.get("status");
+                    
+                    if ("success".equals(status)) {
+                        // 결제 성공 시 장바구니 비우기
+                        clearCart(userId);
+                        trendingRecorder.recordPayment(cartItems);
+                        basketPublisher.publish(userId, cartItems);
+                        logger.info("장바구니 결제 성공: userId={}, amount={}", userId, totalAmount);
+                        
+                        response.put("status", "success");
+                        response.put("message", "결제가 완료되었습니다");
+                        response.put("data", paymentResult.get("data"));
+                        response.put("totalAmount", totalAmount);
+                    } else {
+                        logger.warn("장바구니 결제 실패: userId={}, response={}", userId, paymentResult);
+                        response.put("status", "error");
+                        response.put("message", "결제 처리에 실패했습니다");
+                        response.put("details", paymentResult);
+                    }
+                } else {
+                    logger.error("Payment Service 응답 오류: status={}", paymentResponse.status());
+                    response.put("status", "error");
+                    response.put("message", "결제 서비스 응답 오류");
+                }
+                return response;
+            })
+            .exceptionally(e -> {
+                if (PaymentClient.isRejected(e)) {
+                    // 결제 서비스 장애가 이어지는 동안에는 호출하지 않고 즉시 응답
+                    logger.warn("Payment Service 호출 차단 (Circuit Breaker/Bulkhead): {}", PaymentClient.unwrap(e).getMessage());
+                    response.put("status", "error");
+                    response.put("message", "결제 서비스가 불안정하여 요청을 잠시 차단했습니다. 잠시 후 다시 시도해주세요.");
+                    response.put("error_type", "circuit_breaker");
+                } else if (PaymentClient.isConnectFailure(e)) {
+                    logger.error("Payment Service 연결 실패 (Istio Circuit Breaker 동작 가능): {}", e.toString());
+                    response.put("status", "error");
+                    response.put("message", "결제 서비스에 일시적으로 연결할 수 없습니다. 잠시 후 다시 시도해주세요.");
+                    response.put("error_type", "circuit_breaker");
+                } else if (PaymentClient.isUnavailable(e)) {
+                    // 요청은 보냈으므로 결제 서비스가 처리했을 수 있음
+                    logger.error("Payment Service 응답 시간 초과/I/O 오류, 결제 결과 불명: userId={}, orderId={}, error={}",
+                        userId, requestData.get("order_id"), e.toString());
+                    response.putAll(inDoubt());
+                } else {
+                    logger.error("장바구니 결제 처리 중 예외: {}", e.getMessage(), e);
+                    response.put("status", "error");
+                    response.put("message", "결제 처리 중 오류가 발생했습니다: " + e.getMessage());
+                }
+                return response;
+            });
+    }
+    
+    private boolean isSameAmount(Object clientPrice, int totalAmount) {
+        try {
+            return new BigDecimal(clientPrice.toString().trim()).compareTo(BigDecimal.valueOf(totalAmount)) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * 결제 요청을 보낸 뒤 결과를 확인하지 못한 경우의 응답
+     */
+    private Map<String, Object> inDoubt() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "error");
+        response.put("message", "결제 처리 결과를 확인할 수 없습니다. 결제 내역을 확인한 뒤 다시 시도해주세요.");
+        response.put("error_type", "payment_in_doubt");
         return response;
     }
     
+    /**
+     * product-service 기준 이름/가격을 적용한 항목 목록 (저장된 값은 바꾸지 않음)
+     * 가격을 확인하지 못한 상품은 저장된 값을 그대로 두고 unpriced에 추가
+     */
+    private List<CartItem> reprice(List<CartItem> items, Map<Long, ProductPriceClient.ProductPrice> prices,
+                                   Set<Long> unpriced) {
+        List<CartItem> repriced = new ArrayList<>(items.size());
+        for (CartItem item : items) {
+            ProductPriceClient.ProductPrice price = prices.get(item.getProductId());
+            if (price == null) {
+                unpriced.add(item.getProductId());
+                repriced.add(item);
+                continue;
+            }
+            CartItem copy = new CartItem(item.getUserId(), item.getProductId(), price.name(), price.price(), item.getQuantity());
+            copy.setId(item.getId());
+            repriced.add(copy);
+        }
+        return repriced;
+    }
+    
+    private List<Long> productIds(List<CartItem> items) {
+        return items.stream().map(CartItem::getProductId).toList();
+    }
+    
+    /**
+     * 담기 작업의 이름/가격을 캐시된 product-service 기준 값으로 교체 (캐시에 없는 상품은 요청 값 사용)
+     */
+    private List<CartOperation> withCurrentPrices(List<CartOperation> operations) {
+        List<Long> productIds = operations.stream()
+            .filter(op -> CartOperation.ADD.equals(op.type()))
+            .map(CartOperation::productId)
+            .toList();
+        if (productIds.isEmpty()) {
+            return operations;
+        }
+        Map<Long, ProductPriceClient.ProductPrice> prices = priceClient.getCachedPrices(productIds);
+        
+        List<CartOperation> result = new ArrayList<>(operations.size());
+        for (CartOperation op : operations) {
+            ProductPriceClient.ProductPrice price = CartOperation.ADD.equals(op.type()) ? prices.get(op.productId()) : null;
+            result.add(price == null ? op
+                : new CartOperation(op.type(), op.itemId(), op.productId(), price.name(), price.price(), op.quantity()));
+        }
+        return result;
+    }
+    
     /**
      * 장바구니 아이템으로부터 주문명 생성
      */
@@ -0,0 +1,183 @@
+package com.shop.cart;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Payment Service 비동기 호출 (JDK HttpClient)
+ * 응답을 기다리는 동안 Tomcat 스레드를 점유하지 않고, 연결/응답/전체 제한 시간을 각각 적용
+ * - connect-timeout: TCP 연결
+ * - read-timeout: 요청 전송 후 응답 헤더 수신까지
+ * - deadline: 응답 본문까지 포함한 전체 호출
+ * 호출은 Circuit Breaker(OPEN이면 즉시 거절) → Bulkhead(동시 호출 수 초과 시 즉시 거절) 순서로 보호
+ */
+@Component
+public class PaymentClient {
+
+    /**
+     * HTTP 상태 코드와 응답 본문 (본문이 JSON이 아니면 null)
+     */
+    public record Response(int status, Map<String, Object> body) {
+        public boolean is2xxSuccessful() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CircuitBreaker paymentCircuitBreaker;
+
+    @Autowired
+    private Bulkhead paymentBulkhead;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${cart.payment.url:http://payment-svc.app-services.svc.cluster.local:8083/api/payment/verify}")
+    private String paymentUrl;
+
+    @Value("${cart.payment.connect-timeout-ms:1000}")
+    private long connectTimeoutMs;
+
+    @Value("${cart.payment.read-timeout-ms:3000}")
+    private long readTimeoutMs;
+
+    @Value("${cart.payment.deadline-ms:5000}")
+    private long deadlineMs;
+
+    // 응답 처리(장바구니 비우기 등)까지 이 스레드에서 실행되므로 요청 스레드 풀과 분리
+    @Value("${cart.payment.client-threads:8}")
+    private int clientThreads;
+
+    private ExecutorService executor;
+    private HttpClient httpClient;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger sequence = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(clientThreads, runnable -> {
+            Thread thread = new Thread(runnable, "payment-client-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .executor(executor)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * 결제 검증 요청
+     * 제한 시간 초과/연결 실패는 isUnavailable(), 보호 장치에 의한 거절은 isRejected()로 판별 가능한 예외로 완료
+     */
+    public CompletableFuture<Response> verify(Map<String, Object> requestData, String userEmail) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(paymentUrl))
+                .timeout(Duration.ofMillis(readTimeoutMs))
+                .header("Content-Type", "application/json");
+        if (userEmail != null) {
+            request.header("User-Email", userEmail);
+        }
+
+        try {
+            request.POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(requestData)));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        HttpRequest built = request.build();
+        Supplier<CompletionStage<Response>> call = () -> httpClient.sendAsync(built, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> new Response(response.statusCode(), parse(response.body())))
+                .orTimeout(deadlineMs, TimeUnit.MILLISECONDS);
+
+        return paymentCircuitBreaker.executeCompletionStage(Bulkhead.decorateCompletionStage(paymentBulkhead, call))
+                .toCompletableFuture()
+                .whenComplete((response, error) -> {
+                    if (isRejected(error)) {
+                        meterRegistry.counter("cart.payment.rejected",
+                                "reason", unwrap(error) instanceof BulkheadFullException ? "bulkhead_full" : "circuit_open")
+                                .increment();
+                    }
+                });
+    }
+
+    /**
+     * 결제 서비스에 닿지 못한 경우 (연결 실패, 제한 시간 초과, 전송 중 I/O 오류)
+     */
+    public static boolean isUnavailable(Throwable error) {
+        Throwable cause = unwrap(error);
+        return cause instanceof IOException || cause instanceof TimeoutException;
+    }
+
+    /**
+     * Circuit Breaker OPEN 또는 Bulkhead 초과로 호출하지 않고 거절한 경우
+     */
+    public static boolean isRejected(Throwable error) {
+        Throwable cause = unwrap(error);
+        return cause instanceof CallNotPermittedException || cause instanceof BulkheadFullException;
+    }
+
+    /**
+     * 연결 단계에서 실패하여 요청을 보내지 못한 경우 (결제가 처리되지 않았음이 확실)
+     * 응답 대기 중 시간 초과/I/O 오류는 결제 서비스가 처리했을 수 있으므로 해당하지 않음
+     */
+    public static boolean isConnectFailure(Throwable error) {
+        for (Throwable cause = unwrap(error); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof HttpConnectTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private Map<String, Object> parse(byte[] body) {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(body, new TypeReference<Map<String, Object>>() {});
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
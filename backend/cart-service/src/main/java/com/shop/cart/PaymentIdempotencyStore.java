@@ -0,0 +1,139 @@
+package com.shop.cart;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 결제 요청 Idempotency-Key 기록 (Redis String, JSON)
+ * - 첫 요청: SET NX로 처리 중(in_progress) 기록을 선점한 뒤 결제 진행
+ * - 처리가 끝나면 완료(completed) 상태와 응답을 저장하여 같은 키의 재요청에 그대로 돌려줌
+ * 키는 사용자별로 분리하며, 같은 키에 다른 요청 본문이 오면 fingerprint로 구분
+ *
+ * Redis 장애 시에는 결제를 막지 않도록 기록 없이 진행 (로그만 남김)
+ */
+@Component
+public class PaymentIdempotencyStore {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    public static final String KEY_PREFIX = "cart:idempotency:";
+
+    public static final String IN_PROGRESS = "in_progress";
+    public static final String COMPLETED = "completed";
+
+    /**
+     * 저장된 기록 (state가 completed이면 response 포함)
+     */
+    public record Record(String state, String fingerprint, Map<String, Object> response) {}
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // 처리 중 기록 유지 시간 (결제 전체 제한 시간보다 길게, 비정상 종료 시 자동 해제)
+    @Value("${cart.payment.idempotency.in-progress-ttl-seconds:60}")
+    private long inProgressTtlSeconds;
+
+    // 완료 응답 보관 기간 (클라이언트/메시 재시도 구간)
+    @Value("${cart.payment.idempotency.completed-ttl-hours:24}")
+    private long completedTtlHours;
+
+    /**
+     * 처리 중 기록 선점
+     * @return 선점에 성공했거나 Redis를 사용할 수 없으면 null, 이미 기록이 있으면 그 기록
+     */
+    public Record begin(Long userId, String idempotencyKey, String fingerprint) {
+        String key = getKey(userId, idempotencyKey);
+        try {
+            String value = objectMapper.writeValueAsString(new Record(IN_PROGRESS, fingerprint, null));
+            Boolean acquired = stringRedisTemplate.opsForValue()
+                    .setIfAbsent(key, value, Duration.ofSeconds(inProgressTtlSeconds));
+            if (Boolean.TRUE.equals(acquired)) {
+                return null;
+            }
+            String existing = stringRedisTemplate.opsForValue().get(key);
+            if (existing == null) {
+                // 조회 사이에 만료/해제된 경우 한 번 더 선점 시도
+                acquired = stringRedisTemplate.opsForValue()
+                        .setIfAbsent(key, value, Duration.ofSeconds(inProgressTtlSeconds));
+                return Boolean.TRUE.equals(acquired) ? null : new Record(IN_PROGRESS, fingerprint, null);
+            }
+            return objectMapper.readValue(existing, new TypeReference<Record>() {});
+        } catch (Exception e) {
+            logger.warn("Idempotency 기록 선점 실패 (기록 없이 진행): userId={}, error={}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 완료 응답 저장
+     */
+    public void complete(Long userId, String idempotencyKey, String fingerprint, Map<String, Object> response) {
+        try {
+            String value = objectMapper.writeValueAsString(
+                    new Record(COMPLETED, fingerprint, new LinkedHashMap<>(response)));
+            stringRedisTemplate.opsForValue()
+                    .set(getKey(userId, idempotencyKey), value, Duration.ofHours(completedTtlHours));
+        } catch (Exception e) {
+            logger.warn("Idempotency 완료 기록 실패: userId={}, error={}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 처리 중 기록 해제 (결제 서비스에 요청하지 못한 경우 같은 키로 다시 시도할 수 있도록)
+     */
+    public void release(Long userId, String idempotencyKey) {
+        try {
+            stringRedisTemplate.delete(getKey(userId, idempotencyKey));
+        } catch (Exception e) {
+            logger.warn("Idempotency 기록 해제 실패 (TTL 후 만료): userId={}, error={}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 요청 본문 fingerprint (SHA-256)
+     */
+    public String fingerprint(Map<String, Object> paymentData) {
+        try {
+            return sha256(paymentData == null ? "" : objectMapper.writeValueAsString(paymentData));
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    /**
+     * Idempotency-Key로부터 항상 같은 주문 번호 생성 (결제 서비스 쪽 중복 판별용)
+     */
+    public static String orderId(Long userId, String idempotencyKey) {
+        return "CART_ORDER_" + userId + "_" + sha256(idempotencyKey).substring(0, 20);
+    }
+
+    private static String getKey(Long userId, String idempotencyKey) {
+        return KEY_PREFIX + userId + ":" + sha256(idempotencyKey);
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.shop.cart;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 상품 이름/가격 조회 (product-service POST /api/products/batch, 비동기 HttpClient)
+ * 짧은 TTL의 로컬 Caffeine 캐시를 먼저 보고, 없는 상품만 모아 일괄 요청으로 조회
+ * - getPrices: 조회가 끝나면 완료되는 CompletableFuture (결제처럼 최신 가격이 필요한 경우)
+ * - getCachedPrices: 캐시에 있는 상품만 바로 반환하고 나머지는 백그라운드로 조회 (화면 표시용, 요청 스레드를 기다리게 하지 않음)
+ * 조회 실패(연결 실패, 시간 초과 등) 시 캐시에 있는 상품만 반환 (호출 측에서 누락 여부 판단)
+ */
+@Component
+public class ProductPriceClient {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    /**
+     * product-service 기준 상품 이름/가격
+     */
+    public record ProductPrice(Long productId, String name, int price) {}
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${cart.pricing.product-url:http://product-svc.app-services.svc.cluster.local:8081/api/products/batch}")
+    private String productUrl;
+
+    @Value("${cart.pricing.cache.ttl-seconds:30}")
+    private long cacheTtlSeconds;
+
+    @Value("${cart.pricing.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    // 연결, 요청 전송 후 응답 헤더 수신까지 각각의 제한 시간
+    @Value("${cart.pricing.timeout-ms:1000}")
+    private long timeoutMs;
+
+    // 응답 본문까지 포함한 전체 조회 제한 시간
+    @Value("${cart.pricing.deadline-ms:2000}")
+    private long deadlineMs;
+
+    // product-service의 product.batch.max-size 이하로 유지
+    @Value("${cart.pricing.batch-size:200}")
+    private int batchSize;
+
+    // 조회 후 결제 요청까지 이 스레드에서 실행되므로 요청 스레드 풀과 분리
+    @Value("${cart.pricing.client-threads:4}")
+    private int clientThreads;
+
+    private Cache<Long, ProductPrice> cache;
+    private ExecutorService executor;
+    private HttpClient httpClient;
+
+    // 백그라운드 조회 중인 상품 (같은 상품을 동시에 여러 번 조회하지 않도록)
+    private final Set<Long> refreshing = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "cart.product.price");
+
+        AtomicInteger sequence = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(clientThreads, runnable -> {
+            Thread thread = new Thread(runnable, "product-price-client-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(timeoutMs))
+                .executor(executor)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * 상품 가격 일괄 조회 (실패해도 예외로 완료되지 않음)
+     * @return 상품 ID별 가격 (product-service에 없거나 조회하지 못한 상품은 제외)
+     */
+    public CompletableFuture<Map<Long, ProductPrice>> getPrices(Collection<Long> productIds) {
+        Set<Long> uniqueIds = uniqueIds(productIds);
+        Map<Long, ProductPrice> cached = cache.getAllPresent(uniqueIds);
+        List<Long> missing = uniqueIds.stream().filter(id -> !cached.containsKey(id)).toList();
+        if (missing.isEmpty()) {
+            return CompletableFuture.completedFuture(new HashMap<>(cached));
+        }
+
+        return fetchAll(missing).thenApply(fetched -> {
+            Map<Long, ProductPrice> prices = new HashMap<>(cached);
+            prices.putAll(fetched);
+            return prices;
+        });
+    }
+
+    /**
+     * 캐시에 있는 상품 가격만 바로 반환 (없는 상품은 백그라운드로 조회하여 다음 요청부터 반영)
+     * @return 상품 ID별 가격 (캐시에 없는 상품은 제외)
+     */
+    public Map<Long, ProductPrice> getCachedPrices(Collection<Long> productIds) {
+        Set<Long> uniqueIds = uniqueIds(productIds);
+        Map<Long, ProductPrice> cached = cache.getAllPresent(uniqueIds);
+        List<Long> missing = uniqueIds.stream()
+                .filter(id -> !cached.containsKey(id) && refreshing.add(id))
+                .toList();
+        if (!missing.isEmpty()) {
+            fetchAll(missing).whenComplete((fetched, e) -> missing.forEach(refreshing::remove));
+        }
+        return cached;
+    }
+
+    private Set<Long> uniqueIds(Collection<Long> productIds) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(productIds);
+        uniqueIds.remove(null);
+        return uniqueIds;
+    }
+
+    /**
+     * batch-size 단위로 나누어 동시에 조회하고 캐시에 저장 (실패한 묶음은 제외)
+     */
+    private CompletableFuture<Map<Long, ProductPrice>> fetchAll(List<Long> ids) {
+        List<CompletableFuture<List<ProductPrice>>> chunks = new ArrayList<>();
+        for (int start = 0; start < ids.size(); start += batchSize) {
+            List<Long> chunk = List.copyOf(ids.subList(start, Math.min(start + batchSize, ids.size())));
+            chunks.add(fetch(chunk).exceptionally(e -> {
+                logger.warn("상품 가격 조회 실패: ids={}, error={}", chunk.size(), PaymentClient.unwrap(e).toString());
+                return List.of();
+            }));
+        }
+
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            Map<Long, ProductPrice> fetched = new HashMap<>();
+            for (CompletableFuture<List<ProductPrice>> chunk : chunks) {
+                for (ProductPrice price : chunk.join()) {
+                    cache.put(price.productId(), price);
+                    fetched.put(price.productId(), price);
+                }
+            }
+            return fetched;
+        });
+    }
+
+    private CompletableFuture<List<ProductPrice>> fetch(List<Long> ids) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(productUrl))
+                    .timeout(Duration.ofMillis(timeoutMs))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(Map.of("ids", ids))))
+                    .build();
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("product-service 응답 오류: status=" + response.statusCode());
+                    }
+                    return parse(response.body());
+                })
+                .orTimeout(deadlineMs, TimeUnit.MILLISECONDS);
+    }
+
+    private List<ProductPrice> parse(byte[] responseBody) {
+        Map<String, Object> body;
+        try {
+            body = objectMapper.readValue(responseBody, new TypeReference<Map<String, Object>>() {});
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        List<ProductPrice> prices = new ArrayList<>();
+        if (body.get("products") instanceof List<?> products) {
+            for (Object raw : products) {
+                if (raw instanceof Map<?, ?> product
+                        && product.get("id") instanceof Number id
+                        && product.get("price") instanceof Number price) {
+                    prices.add(new ProductPrice(id.longValue(), (String) product.get("name"), price.intValue()));
+                }
+            }
+        }
+        return prices;
+    }
+}
@@ -0,0 +1,110 @@
+package com.shop.cart;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 인기 상품 점수 기록 (product-service의 GET /api/products/trending에서 조회)
+ * 시간 단위/일 단위 Sorted Set 버킷에 ZINCRBY로 점수를 더하고, 버킷은 TTL로 자동 만료
+ * 키 형식은 product-service의 ProductTrendingService와 동일해야 함
+ *
+ * 점수 기록 실패는 장바구니/결제 처리에 영향을 주지 않도록 로그만 남김
+ */
+@Component
+public class ProductTrendingRecorder {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    // 버킷 번호는 UTC 기준 epoch 시간/일
+    public static final String HOURLY_KEY_PREFIX = "product:trending:h:";
+    public static final String DAILY_KEY_PREFIX = "product:trending:d:";
+
+    private static final long HOUR_MILLIS = 3600_000L;
+    private static final long DAY_MILLIS = 24 * HOUR_MILLIS;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Value("${cart.trending.enabled:true}")
+    private boolean enabled;
+
+    // 이벤트별 가중치 (수량 1개당)
+    @Value("${cart.trending.weight.cart-add:1}")
+    private double cartAddWeight;
+
+    @Value("${cart.trending.weight.payment:5}")
+    private double paymentWeight;
+
+    // 버킷 보관 기간 (24시간/7일 조회 구간 + 여유분)
+    @Value("${cart.trending.hourly-ttl-hours:26}")
+    private long hourlyTtlHours;
+
+    @Value("${cart.trending.daily-ttl-days:8}")
+    private long dailyTtlDays;
+
+    /**
+     * 장바구니 담기
+     */
+    public void recordCartAdd(Long productId, int quantity) {
+        record(Map.of(productId, Math.max(1, quantity) * cartAddWeight));
+    }
+
+    /**
+     * 결제 성공 (결제된 장바구니 상품 전체)
+     */
+    public void recordPayment(List<CartItem> items) {
+        Map<Long, Double> scores = new HashMap<>();
+        for (CartItem item : items) {
+            scores.merge(item.getProductId(), Math.max(1, item.getQuantity()) * paymentWeight, Double::sum);
+        }
+        record(scores);
+    }
+
+    /**
+     * 현재 시간/일 버킷에 점수를 더하고 TTL 갱신 (한 번의 파이프라인 왕복)
+     */
+    private void record(Map<Long, Double> scores) {
+        if (!enabled || scores.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        byte[] hourlyKey = bytes(HOURLY_KEY_PREFIX + (now / HOUR_MILLIS));
+        byte[] dailyKey = bytes(DAILY_KEY_PREFIX + (now / DAY_MILLIS));
+        long hourlyTtlSeconds = hourlyTtlHours * 3600;
+        long dailyTtlSeconds = dailyTtlDays * 24 * 3600;
+
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                scores.forEach((productId, score) -> {
+                    byte[] member = bytes(productId.toString());
+                    connection.zSetCommands().zIncrBy(hourlyKey, score, member);
+                    connection.zSetCommands().zIncrBy(dailyKey, score, member);
+                });
+                expire(connection, hourlyKey, hourlyTtlSeconds);
+                expire(connection, dailyKey, dailyTtlSeconds);
+                return null;
+            });
+        } catch (Exception e) {
+            logger.warn("인기 상품 점수 기록 실패: products={}, error={}", scores.keySet(), e.getMessage());
+        }
+    }
+
+    private static void expire(RedisConnection connection, byte[] key, long seconds) {
+        connection.keyCommands().expire(key, seconds);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
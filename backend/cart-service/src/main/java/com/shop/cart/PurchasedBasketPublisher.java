@@ -0,0 +1,62 @@
+package com.shop.cart;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 결제 완료된 장바구니(상품 ID 목록)를 Redis Stream에 발행
+ * product-service가 소비하여 "함께 구매한 상품" 동시 구매 행렬을 갱신
+ * Stream 키/필드 형식은 product-service의 RelatedProductService와 동일해야 함
+ */
+@Component
+public class PurchasedBasketPublisher {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    public static final String STREAM_KEY = "product:baskets";
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Value("${cart.baskets.enabled:true}")
+    private boolean enabled;
+
+    // 소비가 밀려도 Redis 메모리가 무한히 늘지 않도록 근사 길이 제한
+    @Value("${cart.baskets.stream.max-length:100000}")
+    private long maxLength;
+
+    /**
+     * 결제 성공한 장바구니 발행 (상품이 2개 이상일 때만 의미가 있음)
+     * 발행 실패는 결제 결과에 영향을 주지 않도록 로그만 남김
+     */
+    public void publish(Long userId, List<CartItem> items) {
+        Set<Long> productIds = new LinkedHashSet<>();
+        for (CartItem item : items) {
+            productIds.add(item.getProductId());
+        }
+        if (!enabled || productIds.size() < 2) {
+            return;
+        }
+
+        try {
+            Map<String, String> fields = Map.of(
+                    "userId", String.valueOf(userId),
+                    "productIds", productIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+            stringRedisTemplate.opsForStream().add(StreamRecords.string(fields).withStreamKey(STREAM_KEY));
+            stringRedisTemplate.opsForStream().trim(STREAM_KEY, maxLength, true);
+        } catch (Exception e) {
+            logger.warn("구매 장바구니 발행 실패: userId={}, products={}, error={}", userId, productIds, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.shop.cart.config;
+
+import com.shop.cart.PaymentClient;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Payment Service 호출 Circuit Breaker / Bulkhead (애플리케이션 레벨, Istio와 별개)
+ * - Circuit Breaker: 최근 N건 중 실패(연결 실패, 시간 초과, 5xx) 비율이 임계치를 넘으면 OPEN,
+ *   대기 후 HALF_OPEN에서 시험 호출 몇 건으로 복구 여부 판단
+ * - Bulkhead: 동시 결제 호출 수 제한 (초과 시 기다리지 않고 즉시 거절)
+ * 상태/호출/거절 지표는 resilience4j_circuitbreaker_*, resilience4j_bulkhead_*로 Prometheus에 노출
+ */
+@Configuration
+public class PaymentResilienceConfig {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    public static final String PAYMENT = "payment";
+
+    @Value("${cart.payment.circuit-breaker.sliding-window-size:20}")
+    private int slidingWindowSize;
+
+    @Value("${cart.payment.circuit-breaker.minimum-number-of-calls:10}")
+    private int minimumNumberOfCalls;
+
+    @Value("${cart.payment.circuit-breaker.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    @Value("${cart.payment.circuit-breaker.slow-call-duration-ms:3000}")
+    private long slowCallDurationMs;
+
+    @Value("${cart.payment.circuit-breaker.slow-call-rate-threshold:80}")
+    private float slowCallRateThreshold;
+
+    @Value("${cart.payment.circuit-breaker.wait-duration-in-open-ms:10000}")
+    private long waitDurationInOpenMs;
+
+    @Value("${cart.payment.circuit-breaker.permitted-calls-in-half-open:3}")
+    private int permittedCallsInHalfOpen;
+
+    @Value("${cart.payment.bulkhead.max-concurrent-calls:20}")
+    private int maxConcurrentCalls;
+
+    @Bean
+    public CircuitBreaker paymentCircuitBreaker(MeterRegistry meterRegistry) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallDurationMs))
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .waitDurationInOpenState(Duration.ofMillis(waitDurationInOpenMs))
+                .permittedNumberOfCallsInHalfOpenState(permittedCallsInHalfOpen)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // 결제 서비스 장애로 볼 수 있는 경우만 실패로 집계 (Bulkhead 거절은 제외)
+                .recordException(PaymentClient::isUnavailable)
+                .ignoreException(error -> PaymentClient.unwrap(error) instanceof BulkheadFullException)
+                .recordResult(result -> result instanceof PaymentClient.Response response && response.status() >= 500)
+                .build();
+
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+
+        CircuitBreaker circuitBreaker = registry.circuitBreaker(PAYMENT);
+        circuitBreaker.getEventPublisher().onStateTransition(event ->
+                logger.warn("Payment Circuit Breaker 상태 변경: {}", event.getStateTransition()));
+        return circuitBreaker;
+    }
+
+    @Bean
+    public Bulkhead paymentBulkhead(MeterRegistry meterRegistry) {
+        BulkheadConfig config = BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build();
+
+        BulkheadRegistry registry = BulkheadRegistry.of(config);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(PAYMENT);
+    }
+}
@@ -0,0 +1,57 @@
+package com.shop.cart.store;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * cart_items (user_id, product_id) 유니크 인덱스 보장
+ * 기존 테이블에 중복 행이 있으면 ddl-auto가 인덱스를 만들지 못하므로,
+ * 중복 행의 수량을 가장 작은 id 행으로 합치고 나머지를 지운 뒤 인덱스 생성
+ */
+@Component
+public class CartItemUniqueIndexInitializer {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    public static final String INDEX_NAME = "uk_cart_items_user_product";
+
+    private static final String DUPLICATES =
+            "SELECT user_id, product_id, MIN(id) AS keep_id, SUM(quantity) AS total " +
+            "FROM cart_items GROUP BY user_id, product_id HAVING COUNT(*) > 1";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void ensureUniqueIndex() {
+        try {
+            Integer exists = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM information_schema.statistics " +
+                    "WHERE table_schema = DATABASE() AND table_name = 'cart_items' AND index_name = ?",
+                    Integer.class, INDEX_NAME);
+            if (exists != null && exists > 0) {
+                return;
+            }
+
+            Integer merged = transactionTemplate.execute(status -> {
+                jdbcTemplate.update("UPDATE cart_items c JOIN (" + DUPLICATES + ") d ON c.id = d.keep_id " +
+                        "SET c.quantity = d.total");
+                return jdbcTemplate.update("DELETE c FROM cart_items c JOIN (" + DUPLICATES + ") d " +
+                        "ON c.user_id = d.user_id AND c.product_id = d.product_id AND c.id <> d.keep_id");
+            });
+            jdbcTemplate.execute("ALTER TABLE cart_items ADD UNIQUE INDEX " + INDEX_NAME + " (user_id, product_id)");
+            logger.info("장바구니 유니크 인덱스 생성: 중복 행 {}건 병합", merged);
+        } catch (Exception e) {
+            // 여러 Pod가 동시에 생성하는 경우 등 (다른 Pod가 만들었으면 다음 기동 시 확인)
+            logger.warn("장바구니 유니크 인덱스 생성 실패: {}", e.getMessage());
+        }
+    }
+}
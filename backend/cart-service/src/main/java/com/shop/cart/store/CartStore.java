@@ -0,0 +1,35 @@
+package com.shop.cart.store;
+
+import com.shop.cart.CartItem;
+import com.shop.cart.CartOperation;
+
+import java.util.List;
+
+/**
+ * 장바구니 저장소 (cart.store.mode=mysql | redis)
+ * 어느 모드든 CartItem의 id/필드는 동일하게 응답하여 API 계약 유지
+ */
+public interface CartStore {
+
+    List<CartItem> findByUserId(Long userId);
+
+    /**
+     * 같은 상품이 있으면 수량만 더하고, 없으면 새 항목 생성
+     */
+    CartItem add(Long userId, Long productId, String productName, int productPrice, int quantity);
+
+    /**
+     * @return 항목이 없으면 null
+     */
+    CartItem updateQuantity(Long itemId, int quantity);
+
+    void remove(Long itemId);
+
+    void clear(Long userId);
+
+    /**
+     * 여러 작업을 요청 순서대로 한 번에 적용 (다른 사용자의 항목 ID는 무시)
+     * @return 적용 후 장바구니
+     */
+    List<CartItem> applyBatch(Long userId, List<CartOperation> operations);
+}
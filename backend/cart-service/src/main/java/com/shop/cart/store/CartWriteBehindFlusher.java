@@ -0,0 +1,116 @@
+package com.shop.cart.store;
+
+import com.shop.cart.CartItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis 장바구니 write-behind (cart.store.mode=redis, cart.store.write-behind.enabled=true)
+ * 변경된 사용자(cart:dirty)를 주기적으로 꺼내 Redis의 현재 장바구니로 cart_items를 맞춤
+ * 사용자별로 한 트랜잭션에서 없어진 항목 삭제 + 나머지 upsert (같은 id 사용)
+ */
+@Component
+@ConditionalOnProperty(name = "cart.store.mode", havingValue = "redis")
+public class CartWriteBehindFlusher {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO cart_items (id, user_id, product_id, product_name, product_price, quantity) " +
+            "VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE quantity = VALUES(quantity)";
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${cart.store.write-behind.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cart.store.write-behind.batch-size:200}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${cart.store.write-behind.flush-ms:1000}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        // 실패한 사용자는 이번 주기가 끝난 뒤 dirty로 되돌려 다음 주기에 재시도
+        List<String> failed = new ArrayList<>();
+        try {
+            List<String> userIds;
+            while (!(userIds = stringRedisTemplate.opsForSet().pop(RedisCartStore.DIRTY_KEY, batchSize)).isEmpty()) {
+                for (String userId : userIds) {
+                    if (!sync(Long.valueOf(userId))) {
+                        failed.add(userId);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("장바구니 write-behind 실패: {}", e.getMessage());
+        }
+        if (!failed.isEmpty()) {
+            try {
+                stringRedisTemplate.opsForSet().add(RedisCartStore.DIRTY_KEY, failed.toArray(new String[0]));
+            } catch (Exception e) {
+                logger.error("장바구니 write-behind 재시도 등록 실패 (다음 변경 시 반영): users={}, error={}", failed, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 사용자 장바구니 하나를 cart_items에 반영
+     * @return 실패하면 false
+     */
+    private boolean sync(Long userId) {
+        try {
+            Map<Object, Object> hash = stringRedisTemplate.opsForHash().entries(RedisCartStore.getCartKey(userId));
+            if (hash.isEmpty()) {
+                // 만료된 장바구니는 건드리지 않음 (다음 조회 시 cart_items에서 다시 적재)
+                return true;
+            }
+            List<CartItem> items = RedisCartStore.toItems(userId, hash);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                if (items.isEmpty()) {
+                    jdbcTemplate.update("DELETE FROM cart_items WHERE user_id = ?", userId);
+                    return;
+                }
+                List<Object> deleteArgs = new ArrayList<>(items.size() + 1);
+                deleteArgs.add(userId);
+                List<Object[]> upsertArgs = new ArrayList<>(items.size());
+                for (CartItem item : items) {
+                    deleteArgs.add(item.getId());
+                    upsertArgs.add(new Object[] {item.getId(), userId, item.getProductId(),
+                            item.getProductName(), item.getProductPrice(), item.getQuantity()});
+                }
+                String placeholders = String.join(", ", Collections.nCopies(items.size(), "?"));
+                jdbcTemplate.update("DELETE FROM cart_items WHERE user_id = ? AND id NOT IN (" + placeholders + ")",
+                        deleteArgs.toArray());
+                jdbcTemplate.batchUpdate(UPSERT_SQL, upsertArgs);
+            });
+            return true;
+        } catch (Exception e) {
+            logger.warn("장바구니 write-behind 실패, 재시도 예정: userId={}, error={}", userId, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.shop.cart.store;
+
+import com.shop.cart.CartItem;
+import com.shop.cart.CartOperation;
+import com.shop.cart.CartRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * MySQL(cart_items) 장바구니 저장소 (기본 모드)
+ * 담기는 (user_id, product_id) 유니크 인덱스 기준 INSERT ... ON DUPLICATE KEY UPDATE 한 문장으로 처리하여
+ * 동시 요청에도 수량 유실/중복 행이 생기지 않음
+ */
+@Component
+@ConditionalOnProperty(name = "cart.store.mode", havingValue = "mysql", matchIfMissing = true)
+public class JpaCartStore implements CartStore {
+
+    // id = LAST_INSERT_ID(id): 기존 행을 갱신한 경우에도 생성 키로 그 행의 id를 돌려받기 위함
+    private static final String UPSERT_SQL =
+            "INSERT INTO cart_items (user_id, product_id, product_name, product_price, quantity) " +
+            "VALUES (?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id), quantity = quantity + VALUES(quantity)";
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Override
+    public List<CartItem> findByUserId(Long userId) {
+        return cartRepository.findByUserId(userId);
+    }
+
+    @Override
+    public CartItem add(Long userId, Long productId, String productName, int productPrice, int quantity) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        int affected = jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(UPSERT_SQL, Statement.RETURN_GENERATED_KEYS);
+            ps.setLong(1, userId);
+            ps.setLong(2, productId);
+            ps.setString(3, productName);
+            ps.setInt(4, productPrice);
+            ps.setInt(5, quantity);
+            return ps;
+        }, keyHolder);
+        // 기존 행 갱신 시 드라이버가 키를 여러 개 돌려줄 수 있으므로 첫 번째 키 사용
+        Long id = ((Number) keyHolder.getKeyList().get(0).values().iterator().next()).longValue();
+
+        // 새 행(영향 1건)은 요청 값 그대로 응답, 기존 행에 더한 경우만 합산된 수량을 PK로 재조회
+        if (affected == 1 && quantity != 0) {
+            CartItem item = new CartItem(userId, productId, productName, productPrice, quantity);
+            item.setId(id);
+            return item;
+        }
+        return cartRepository.findById(id).orElse(null);
+    }
+
+    @Override
+    public CartItem updateQuantity(Long itemId, int quantity) {
+        if (cartRepository.updateQuantity(itemId, quantity) == 0) {
+            return null;
+        }
+        return cartRepository.findById(itemId).orElse(null);
+    }
+
+    @Override
+    public void remove(Long itemId) {
+        cartRepository.deleteById(itemId);
+    }
+
+    @Override
+    public void clear(Long userId) {
+        cartRepository.deleteByUserId(userId);
+    }
+
+    /**
+     * 한 트랜잭션에서 같은 종류가 연속된 작업끼리 묶어 배치 SQL로 실행 (순서는 요청 순서 유지)
+     */
+    @Override
+    public List<CartItem> applyBatch(Long userId, List<CartOperation> operations) {
+        return transactionTemplate.execute(status -> {
+            int start = 0;
+            while (start < operations.size()) {
+                String type = operations.get(start).type();
+                int end = start;
+                while (end < operations.size() && operations.get(end).type().equals(type)) {
+                    end++;
+                }
+                execute(userId, type, operations.subList(start, end));
+                start = end;
+            }
+            return cartRepository.findByUserId(userId);
+        });
+    }
+
+    private void execute(Long userId, String type, List<CartOperation> run) {
+        List<Object[]> args = new ArrayList<>(run.size());
+        switch (type) {
+            case CartOperation.ADD -> {
+                for (CartOperation op : run) {
+                    args.add(new Object[] {userId, op.productId(), op.productName(), op.productPrice(), op.quantity()});
+                }
+                jdbcTemplate.batchUpdate(UPSERT_SQL, args);
+            }
+            case CartOperation.SET -> {
+                for (CartOperation op : run) {
+                    args.add(new Object[] {op.quantity(), op.itemId(), userId});
+                }
+                jdbcTemplate.batchUpdate("UPDATE cart_items SET quantity = ? WHERE id = ? AND user_id = ?", args);
+            }
+            case CartOperation.REMOVE -> {
+                List<Object> ids = new ArrayList<>(run.size() + 1);
+                ids.add(userId);
+                for (CartOperation op : run) {
+                    ids.add(op.itemId());
+                }
+                String placeholders = String.join(", ", Collections.nCopies(run.size(), "?"));
+                jdbcTemplate.update("DELETE FROM cart_items WHERE user_id = ? AND id IN (" + placeholders + ")",
+                        ids.toArray());
+            }
+            default -> throw new IllegalArgumentException("지원하지 않는 작업입니다: " + type);
+        }
+    }
+}
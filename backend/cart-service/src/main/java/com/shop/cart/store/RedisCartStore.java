@@ -0,0 +1,362 @@
+package com.shop.cart.store;
+
+import com.shop.cart.CartItem;
+import com.shop.cart.CartOperation;
+import com.shop.cart.CartRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis Hash 장바구니 저장소 (cart.store.mode=redis)
+ * - 사용자별 Hash(cart:user:{userId})에 상품마다 두 필드를 둠
+ *   q:{productId} = 수량 (HINCRBY로 원자적 증감), d:{productId} = "항목ID|가격|상품명"
+ * - 항목 ID → "userId:productId" 색인(cart:item:{id})으로 itemId 기반 수정/삭제 지원
+ * - 모든 변경은 Lua 스크립트 하나로 처리하고, 변경 시마다 장바구니/색인 TTL 갱신
+ * - write-behind 사용 시 변경된 사용자를 cart:dirty에 모아 CartWriteBehindFlusher가 cart_items에 반영하고,
+ *   Redis에 장바구니가 없으면(만료/유실) cart_items에서 다시 적재
+ *
+ * 항목 ID는 cart_items의 id와 같은 값을 쓰도록 시퀀스를 MySQL 최대 id 이상으로 맞춤
+ * 색인 키 이름을 스크립트 안에서 만들므로 단일 Redis(Standalone) 기준
+ */
+@Component
+@ConditionalOnProperty(name = "cart.store.mode", havingValue = "redis")
+public class RedisCartStore implements CartStore {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    public static final String DIRTY_KEY = "cart:dirty";
+    private static final String SEQ_KEY = "cart:seq";
+    private static final String CART_KEY_PREFIX = "cart:user:";
+    private static final String ITEM_KEY_PREFIX = "cart:item:";
+
+    // 빈 장바구니도 "적재됨"으로 구분하기 위한 표시 필드
+    private static final String MARKER_FIELD = "_";
+
+    // 장바구니의 모든 항목 색인 TTL 갱신 (장바구니는 작으므로 전체 순회)
+    private static final String TOUCH_FUNCTION =
+            "local function touch(cart, ttl, prefix) " +
+            "  local all = redis.call('HGETALL', cart) " +
+            "  for i = 1, #all, 2 do " +
+            "    if string.sub(all[i], 1, 2) == 'd:' then " +
+            "      redis.call('EXPIRE', prefix .. string.match(all[i + 1], '^(%d+)|'), ttl) " +
+            "    end " +
+            "  end " +
+            "  redis.call('EXPIRE', cart, ttl) " +
+            "end ";
+
+    // KEYS: 장바구니, 시퀀스, dirty / ARGV: productId, 수량, 가격, 상품명, TTL, 색인 prefix, userId, write-behind
+    private static final RedisScript<List> ADD_SCRIPT = new DefaultRedisScript<>(TOUCH_FUNCTION +
+            "local meta = redis.call('HGET', KEYS[1], 'd:' .. ARGV[1]) " +
+            "if not meta then " +
+            "  local id = redis.call('INCR', KEYS[2]) " +
+            "  meta = id .. '|' .. ARGV[3] .. '|' .. ARGV[4] " +
+            "  redis.call('HSET', KEYS[1], 'd:' .. ARGV[1], meta) " +
+            "  redis.call('SET', ARGV[6] .. id, ARGV[7] .. ':' .. ARGV[1]) " +
+            "end " +
+            "local qty = redis.call('HINCRBY', KEYS[1], 'q:' .. ARGV[1], ARGV[2]) " +
+            "redis.call('HSET', KEYS[1], '" + MARKER_FIELD + "', '1') " +
+            "touch(KEYS[1], ARGV[5], ARGV[6]) " +
+            "if ARGV[8] == '1' then redis.call('SADD', KEYS[3], ARGV[7]) end " +
+            "return {meta, qty}", List.class);
+
+    // KEYS: 장바구니, dirty / ARGV: productId, itemId, 수량, TTL, 색인 prefix, userId, write-behind
+    private static final RedisScript<List> UPDATE_SCRIPT = new DefaultRedisScript<>(TOUCH_FUNCTION +
+            "local meta = redis.call('HGET', KEYS[1], 'd:' .. ARGV[1]) " +
+            "if not meta or string.match(meta, '^(%d+)|') ~= ARGV[2] then return nil end " +
+            "redis.call('HSET', KEYS[1], 'q:' .. ARGV[1], ARGV[3]) " +
+            "touch(KEYS[1], ARGV[4], ARGV[5]) " +
+            "if ARGV[7] == '1' then redis.call('SADD', KEYS[2], ARGV[6]) end " +
+            "return {meta, tonumber(ARGV[3])}", List.class);
+
+    // KEYS: 장바구니, 항목 색인, dirty / ARGV: productId, itemId, TTL, 색인 prefix, userId, write-behind
+    private static final RedisScript<Long> REMOVE_SCRIPT = new DefaultRedisScript<>(TOUCH_FUNCTION +
+            "local meta = redis.call('HGET', KEYS[1], 'd:' .. ARGV[1]) " +
+            "if not meta or string.match(meta, '^(%d+)|') ~= ARGV[2] then return 0 end " +
+            "redis.call('HDEL', KEYS[1], 'd:' .. ARGV[1], 'q:' .. ARGV[1]) " +
+            "redis.call('DEL', KEYS[2]) " +
+            "touch(KEYS[1], ARGV[3], ARGV[4]) " +
+            "if ARGV[6] == '1' then redis.call('SADD', KEYS[3], ARGV[5]) end " +
+            "return 1", Long.class);
+
+    // KEYS: 장바구니, dirty / ARGV: TTL, 색인 prefix, userId, write-behind
+    private static final RedisScript<Long> CLEAR_SCRIPT = new DefaultRedisScript<>(
+            "local all = redis.call('HGETALL', KEYS[1]) " +
+            "for i = 1, #all, 2 do " +
+            "  if string.sub(all[i], 1, 2) == 'd:' then " +
+            "    redis.call('DEL', ARGV[2] .. string.match(all[i + 1], '^(%d+)|')) " +
+            "  end " +
+            "end " +
+            "redis.call('DEL', KEYS[1]) " +
+            "redis.call('HSET', KEYS[1], '" + MARKER_FIELD + "', '1') " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+            "if ARGV[4] == '1' then redis.call('SADD', KEYS[2], ARGV[3]) end " +
+            "return 1", Long.class);
+
+    // KEYS: 장바구니 / ARGV: TTL, 색인 prefix, userId, 이후 (productId, meta, 수량) 반복
+    // 이미 적재되어 있으면(동시 요청) 아무것도 하지 않음
+    private static final RedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+            "redis.call('HSET', KEYS[1], '" + MARKER_FIELD + "', '1') " +
+            "for i = 4, #ARGV, 3 do " +
+            "  redis.call('HSET', KEYS[1], 'd:' .. ARGV[i], ARGV[i + 1], 'q:' .. ARGV[i], ARGV[i + 2]) " +
+            "  redis.call('SET', ARGV[2] .. string.match(ARGV[i + 1], '^(%d+)|'), ARGV[3] .. ':' .. ARGV[i], 'EX', ARGV[1]) " +
+            "end " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+            "return 1", Long.class);
+
+    // KEYS: 장바구니, 시퀀스, dirty / ARGV: TTL, 색인 prefix, userId, write-behind, 이후 작업마다 5개
+    // (종류, productId 또는 itemId, 수량, 가격, 상품명) - set/remove의 itemId는 이 장바구니 안에서만 찾음
+    private static final RedisScript<Long> BATCH_SCRIPT = new DefaultRedisScript<>(TOUCH_FUNCTION +
+            "local function find(cart, itemId) " +
+            "  local all = redis.call('HGETALL', cart) " +
+            "  for i = 1, #all, 2 do " +
+            "    if string.sub(all[i], 1, 2) == 'd:' and string.match(all[i + 1], '^(%d+)|') == itemId then " +
+            "      return string.sub(all[i], 3) " +
+            "    end " +
+            "  end " +
+            "  return nil " +
+            "end " +
+            "for i = 5, #ARGV, 5 do " +
+            "  local op = ARGV[i] " +
+            "  if op == 'add' then " +
+            "    local pid = ARGV[i + 1] " +
+            "    if not redis.call('HGET', KEYS[1], 'd:' .. pid) then " +
+            "      local id = redis.call('INCR', KEYS[2]) " +
+            "      redis.call('HSET', KEYS[1], 'd:' .. pid, id .. '|' .. ARGV[i + 3] .. '|' .. ARGV[i + 4]) " +
+            "      redis.call('SET', ARGV[2] .. id, ARGV[3] .. ':' .. pid) " +
+            "    end " +
+            "    redis.call('HINCRBY', KEYS[1], 'q:' .. pid, ARGV[i + 2]) " +
+            "  else " +
+            "    local pid = find(KEYS[1], ARGV[i + 1]) " +
+            "    if pid and op == 'set' then " +
+            "      redis.call('HSET', KEYS[1], 'q:' .. pid, ARGV[i + 2]) " +
+            "    elseif pid and op == 'remove' then " +
+            "      redis.call('HDEL', KEYS[1], 'd:' .. pid, 'q:' .. pid) " +
+            "      redis.call('DEL', ARGV[2] .. ARGV[i + 1]) " +
+            "    end " +
+            "  end " +
+            "end " +
+            "redis.call('HSET', KEYS[1], '" + MARKER_FIELD + "', '1') " +
+            "touch(KEYS[1], ARGV[1], ARGV[2]) " +
+            "if ARGV[4] == '1' then redis.call('SADD', KEYS[3], ARGV[3]) end " +
+            "return 1", Long.class);
+
+    private static final RedisScript<Long> SEQ_FLOOR_SCRIPT = new DefaultRedisScript<>(
+            "local current = tonumber(redis.call('GET', KEYS[1]) or '0') " +
+            "local floor = tonumber(ARGV[1]) " +
+            "if current < floor then redis.call('SET', KEYS[1], floor) return floor end " +
+            "return current", Long.class);
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${cart.store.redis.ttl-days:30}")
+    private long ttlDays;
+
+    @Value("${cart.store.write-behind.enabled:true}")
+    private boolean writeBehind;
+
+    // Redis 키 생성 메서드들
+    static String getCartKey(Long userId) {
+        return CART_KEY_PREFIX + userId;
+    }
+
+    private static String getItemKey(Long itemId) {
+        return ITEM_KEY_PREFIX + itemId;
+    }
+
+    @PostConstruct
+    public void init() {
+        // MySQL 모드에서 쓰던 id와 겹치지 않도록 시퀀스 하한 설정
+        try {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM cart_items", Long.class);
+            Long seq = stringRedisTemplate.execute(SEQ_FLOOR_SCRIPT, List.of(SEQ_KEY), String.valueOf(maxId));
+            logger.info("Redis 장바구니 저장소 사용: 항목 시퀀스={}, write-behind={}", seq, writeBehind);
+        } catch (Exception e) {
+            logger.warn("장바구니 항목 시퀀스 초기화 실패: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public List<CartItem> findByUserId(Long userId) {
+        Map<Object, Object> hash = stringRedisTemplate.opsForHash().entries(getCartKey(userId));
+        if (hash.isEmpty() && load(userId)) {
+            hash = stringRedisTemplate.opsForHash().entries(getCartKey(userId));
+        }
+        return toItems(userId, hash);
+    }
+
+    @Override
+    public CartItem add(Long userId, Long productId, String productName, int productPrice, int quantity) {
+        ensureLoaded(userId);
+        List<?> result = stringRedisTemplate.execute(ADD_SCRIPT,
+                List.of(getCartKey(userId), SEQ_KEY, DIRTY_KEY),
+                productId.toString(), String.valueOf(quantity), String.valueOf(productPrice),
+                productName, ttlSeconds(), ITEM_KEY_PREFIX, userId.toString(), flag());
+        return toItem(userId, productId, result);
+    }
+
+    @Override
+    public CartItem updateQuantity(Long itemId, int quantity) {
+        Long[] owner = resolve(itemId);
+        if (owner == null) {
+            return null;
+        }
+        List<?> result = stringRedisTemplate.execute(UPDATE_SCRIPT,
+                List.of(getCartKey(owner[0]), DIRTY_KEY),
+                owner[1].toString(), itemId.toString(), String.valueOf(quantity),
+                ttlSeconds(), ITEM_KEY_PREFIX, owner[0].toString(), flag());
+        return toItem(owner[0], owner[1], result);
+    }
+
+    @Override
+    public void remove(Long itemId) {
+        Long[] owner = resolve(itemId);
+        if (owner == null) {
+            return;
+        }
+        stringRedisTemplate.execute(REMOVE_SCRIPT,
+                List.of(getCartKey(owner[0]), getItemKey(itemId), DIRTY_KEY),
+                owner[1].toString(), itemId.toString(), ttlSeconds(), ITEM_KEY_PREFIX, owner[0].toString(), flag());
+    }
+
+    @Override
+    public void clear(Long userId) {
+        stringRedisTemplate.execute(CLEAR_SCRIPT, List.of(getCartKey(userId), DIRTY_KEY),
+                ttlSeconds(), ITEM_KEY_PREFIX, userId.toString(), flag());
+    }
+
+    /**
+     * 일괄 변경을 스크립트 한 번으로 원자적으로 적용
+     */
+    @Override
+    public List<CartItem> applyBatch(Long userId, List<CartOperation> operations) {
+        ensureLoaded(userId);
+        List<String> args = new ArrayList<>(4 + operations.size() * 5);
+        args.add(ttlSeconds());
+        args.add(ITEM_KEY_PREFIX);
+        args.add(userId.toString());
+        args.add(flag());
+        for (CartOperation op : operations) {
+            boolean add = CartOperation.ADD.equals(op.type());
+            args.add(op.type());
+            args.add(String.valueOf(add ? op.productId() : op.itemId()));
+            args.add(String.valueOf(op.quantity()));
+            args.add(String.valueOf(op.productPrice()));
+            args.add(add ? op.productName() : "");
+        }
+        stringRedisTemplate.execute(BATCH_SCRIPT, List.of(getCartKey(userId), SEQ_KEY, DIRTY_KEY), args.toArray());
+        return findByUserId(userId);
+    }
+
+    /**
+     * 항목 ID → {userId, productId} (Redis 색인이 없으면 cart_items에서 찾아 장바구니 적재 후 재조회)
+     */
+    private Long[] resolve(Long itemId) {
+        String owner = stringRedisTemplate.opsForValue().get(getItemKey(itemId));
+        if (owner == null && writeBehind) {
+            CartItem row = cartRepository.findById(itemId).orElse(null);
+            if (row != null && load(row.getUserId())) {
+                owner = stringRedisTemplate.opsForValue().get(getItemKey(itemId));
+            }
+        }
+        if (owner == null) {
+            return null;
+        }
+        int sep = owner.indexOf(':');
+        return new Long[] {Long.valueOf(owner.substring(0, sep)), Long.valueOf(owner.substring(sep + 1))};
+    }
+
+    private void ensureLoaded(Long userId) {
+        if (writeBehind && !Boolean.TRUE.equals(stringRedisTemplate.hasKey(getCartKey(userId)))) {
+            load(userId);
+        }
+    }
+
+    /**
+     * cart_items의 장바구니를 Redis에 적재 (write-behind 사용 시에만)
+     * @return 적재했으면 true
+     */
+    private boolean load(Long userId) {
+        if (!writeBehind) {
+            return false;
+        }
+        List<CartItem> rows = cartRepository.findByUserId(userId);
+        List<String> args = new ArrayList<>(3 + rows.size() * 3);
+        args.add(ttlSeconds());
+        args.add(ITEM_KEY_PREFIX);
+        args.add(userId.toString());
+        for (CartItem row : rows) {
+            args.add(row.getProductId().toString());
+            args.add(row.getId() + "|" + row.getProductPrice() + "|" + row.getProductName());
+            args.add(String.valueOf(row.getQuantity()));
+        }
+        Long loaded = stringRedisTemplate.execute(LOAD_SCRIPT, List.of(getCartKey(userId)), args.toArray());
+        return loaded != null && loaded == 1;
+    }
+
+    /**
+     * Hash → 항목 목록 (id 순서, MySQL 모드의 조회 순서와 동일)
+     */
+    static List<CartItem> toItems(Long userId, Map<Object, Object> hash) {
+        List<CartItem> items = new ArrayList<>();
+        for (Map.Entry<Object, Object> entry : hash.entrySet()) {
+            String field = entry.getKey().toString();
+            if (!field.startsWith("d:")) {
+                continue;
+            }
+            String productId = field.substring(2);
+            Object quantity = hash.get("q:" + productId);
+            items.add(parse(userId, Long.valueOf(productId), entry.getValue().toString(),
+                    quantity != null ? Integer.parseInt(quantity.toString()) : 0));
+        }
+        items.sort(Comparator.comparing(CartItem::getId));
+        return items;
+    }
+
+    private static CartItem toItem(Long userId, Long productId, List<?> result) {
+        if (result == null || result.size() < 2) {
+            return null;
+        }
+        return parse(userId, productId, result.get(0).toString(), ((Number) result.get(1)).intValue());
+    }
+
+    /**
+     * "항목ID|가격|상품명" (상품명에 |가 있어도 되도록 앞의 두 개만 분리)
+     */
+    private static CartItem parse(Long userId, Long productId, String meta, int quantity) {
+        String[] parts = meta.split("\\|", 3);
+        CartItem item = new CartItem(userId, productId, parts[2], Integer.parseInt(parts[1]), quantity);
+        item.setId(Long.valueOf(parts[0]));
+        return item;
+    }
+
+    private String ttlSeconds() {
+        return String.valueOf(TimeUnit.DAYS.toSeconds(ttlDays));
+    }
+
+    private String flag() {
+        return writeBehind ? "1" : "0";
+    }
+}
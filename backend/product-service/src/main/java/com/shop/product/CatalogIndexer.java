@@ -0,0 +1,192 @@
+package com.shop.product;
+
+import com.shop.product.search.ProductFacetIndex;
+import com.shop.product.search.ProductSearchIndex;
+import com.shop.product.search.ProductSuggestIndex;
+import com.shop.product.snapshot.CatalogSnapshotService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 인메모리 카탈로그 색인 관리
+ * - 기동 시 DataInitializer(CommandLineRunner) 이후, 트래픽 수신(Readiness) 전에 전체 색인
+ * - 상품 저장 시 로컬 색인에 반영하고 Pub/Sub으로 다른 Pod에 상품 ID 전파
+ */
+@Component
+public class CatalogIndexer {
+    
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    
+    public static final String UPDATE_CHANNEL = "product:catalog:updates";
+    
+    // 자신이 보낸 메시지는 무시하기 위한 인스턴스 식별자
+    private final String instanceId = UUID.randomUUID().toString();
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private ProductSearchIndex searchIndex;
+    
+    @Autowired
+    private ProductSuggestIndex suggestIndex;
+    
+    @Autowired
+    private ProductFacetIndex facetIndex;
+    
+    @Autowired
+    private CatalogSnapshotService snapshotService;
+    
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+    
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+    
+    // DB에서 전체 색인할 때 한 번에 읽는 행 수 (id Keyset 페이지)
+    @Value("${product.index.load-page-size:5000}")
+    private int loadPageSize;
+    
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this::onUpdateMessage, new ChannelTopic(UPDATE_CHANNEL));
+    }
+    
+    /**
+     * 전체 재색인 후 다른 Pod에도 재색인 요청 (일괄 등록처럼 변경 건수가 많을 때)
+     */
+    public void rebuildAll() {
+        rebuild(false);
+        
+        try {
+            Map<String, Object> message = new HashMap<>();
+            message.put("origin", instanceId);
+            message.put("rebuild", true);
+            redisTemplate.convertAndSend(UPDATE_CHANNEL, message);
+        } catch (Exception e) {
+            logger.warn("카탈로그 재색인 전파 실패: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * 기동 시 색인 (스냅샷이 있으면 스냅샷 + 변경분, 없으면 DB 전체 조회)
+     * 이 리스너가 끝난 뒤에 Readiness가 ACCEPTING_TRAFFIC으로 바뀌므로 첫 요청부터 색인 사용
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndexes() {
+        rebuild(true);
+    }
+    
+    private void rebuild(boolean useSnapshot) {
+        long start = System.currentTimeMillis();
+        try {
+            List<Product> products = useSnapshot ? snapshotService.loadCatalog() : null;
+            if (products == null) {
+                products = loadAll();
+            }
+            searchIndex.rebuild(products);
+            suggestIndex.rebuild(products);
+            facetIndex.rebuild(products);
+            logger.info("카탈로그 색인 초기화 완료: 상품 {}개, {}ms", products.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            // 색인이 없어도 DB 검색으로 동작하므로 기동은 계속
+            logger.error("카탈로그 색인 초기화 실패: {}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * DB 전체 상품을 id 순 페이지로 나눠 조회 (대량 카탈로그에서 한 번에 findAll 하지 않도록)
+     */
+    private List<Product> loadAll() {
+        List<Product> products = new ArrayList<>();
+        ProductPageCursor after = null;
+        while (true) {
+            List<Product> page = productRepository.findPage(null, ProductSort.ID, false, after, loadPageSize);
+            products.addAll(page);
+            if (page.size() < loadPageSize) {
+                return products;
+            }
+            after = ProductPageCursor.after(page.get(page.size() - 1), ProductSort.ID, false);
+        }
+    }
+    
+    /**
+     * 저장된 상품을 로컬 색인에 반영하고 다른 Pod에 전파
+     */
+    public void onProductSaved(Product saved) {
+        apply(saved);
+        
+        try {
+            Map<String, Object> message = new HashMap<>();
+            message.put("origin", instanceId);
+            message.put("productId", saved.getId());
+            redisTemplate.convertAndSend(UPDATE_CHANNEL, message);
+        } catch (Exception e) {
+            logger.warn("카탈로그 변경 전파 실패: id={}, error={}", saved.getId(), e.getMessage());
+        }
+    }
+    
+    /**
+     * 재고 있음/없음 변경을 패싯에 반영하고, 상태가 바뀐 경우에만 다른 Pod에 전파
+     */
+    public void onStockChanged(Long productId, boolean inStock) {
+        if (!facetIndex.updateInStock(productId, inStock)) {
+            return;
+        }
+        
+        try {
+            Map<String, Object> message = new HashMap<>();
+            message.put("origin", instanceId);
+            message.put("productId", productId);
+            message.put("inStock", inStock);
+            redisTemplate.convertAndSend(UPDATE_CHANNEL, message);
+        } catch (Exception e) {
+            logger.warn("재고 상태 전파 실패: id={}, error={}", productId, e.getMessage());
+        }
+    }
+    
+    private void apply(Product product) {
+        searchIndex.index(product);
+        suggestIndex.index(product);
+        facetIndex.index(product);
+    }
+    
+    private void onUpdateMessage(Message message, byte[] pattern) {
+        try {
+            Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+            if (!(body instanceof Map<?, ?> update) || instanceId.equals(update.get("origin"))) {
+                return;
+            }
+            
+            if (Boolean.TRUE.equals(update.get("rebuild"))) {
+                rebuild(false);
+                return;
+            }
+            
+            Long productId = Long.valueOf(update.get("productId").toString());
+            if (update.get("inStock") instanceof Boolean inStock) {
+                facetIndex.updateInStock(productId, inStock);
+                return;
+            }
+            productRepository.findById(productId).ifPresent(this::apply);
+        } catch (Exception e) {
+            logger.warn("카탈로그 변경 메시지 처리 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.shop.product;
+
+import com.shop.product.bulk.ProductBulkImportService;
+import com.shop.product.cache.CatalogResponseCache;
+import com.shop.product.cache.ProductCache;
+import com.shop.product.feed.ProductChangeFeed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * 부하 테스트용 대량 카탈로그 생성 (loadtest 프로필)
+ * 같은 seed면 항상 같은 카탈로그를 만들고, 행마다 독립된 난수를 쓰므로 중간에 멈춰도 이어서 생성 가능
+ * 이어서 생성할 위치는 생성된 행의 표시(이미지 접두사 + 이름 끝의 행 번호) 중 최댓값으로 판단하므로
+ * 샘플/일괄 등록 상품이 섞여 있어도 행 번호가 밀리지 않음
+ * 목표 건수만큼 이미 생성되어 있으면 아무 작업도 하지 않음
+ */
+@Component
+@Profile("loadtest")
+public class LoadTestCatalogGenerator implements CommandLineRunner {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    /**
+     * 카테고리별 비중, 가격 분포 (로그정규분포 중앙값/분산), 품목명
+     */
+    private record CategorySpec(String name, int weight, int medianPrice, double priceSigma, String[] items) {}
+
+    private static final CategorySpec[] CATEGORIES = {
+        new CategorySpec("상의", 24, 25000, 0.5, new String[] {"티셔츠", "맨투맨", "후드티", "셔츠", "니트", "블라우스", "카디건"}),
+        new CategorySpec("하의", 16, 35000, 0.5, new String[] {"청바지", "슬랙스", "조거팬츠", "반바지", "스커트", "레깅스"}),
+        new CategorySpec("아우터", 8, 90000, 0.6, new String[] {"트렌치코트", "패딩", "자켓", "바람막이", "코트", "점퍼"}),
+        new CategorySpec("신발", 12, 60000, 0.55, new String[] {"스니커즈", "운동화", "로퍼", "슬리퍼", "부츠", "샌들"}),
+        new CategorySpec("가방", 8, 45000, 0.7, new String[] {"크로스백", "백팩", "토트백", "에코백", "클러치"}),
+        new CategorySpec("액세서리", 14, 15000, 0.6, new String[] {"볼캡", "비니", "벨트", "머플러", "장갑", "폰케이스"}),
+        new CategorySpec("속옷", 10, 12000, 0.4, new String[] {"양말", "드로즈", "브라탑", "런닝", "잠옷"}),
+        new CategorySpec("스포츠", 8, 40000, 0.55, new String[] {"트레이닝복", "요가복", "러닝화", "기능성 티셔츠", "수영복"})
+    };
+
+    private static final String[] STYLES = {"베이직", "오버핏", "슬림핏", "데일리", "클래식", "빈티지", "캐주얼", "프리미엄", "미니멀", "스트릿"};
+    private static final String[] COLORS = {"블랙", "화이트", "그레이", "네이비", "베이지", "카키", "브라운", "아이보리", "차콜", "스카이블루"};
+    private static final String[] MATERIALS = {"코튼", "린넨", "울", "데님", "폴리", "나일론", "가죽", "스웨이드", "니트", "쭈리"};
+    private static final String[] SEASONS = {"봄", "여름", "가을", "겨울", "간절기"};
+
+    // 생성된 행 표시: 이미지가 이 접두사로 시작하고 이름 마지막 단어가 행 번호(index + 1)
+    private static final String IMAGE_PREFIX = "generated-";
+
+    private static final String MAX_ROW_SQL =
+            "SELECT MAX(CAST(SUBSTRING_INDEX(name, ' ', -1) AS UNSIGNED)) FROM products WHERE image LIKE '" + IMAGE_PREFIX + "%'";
+
+    private static final int TOTAL_WEIGHT;
+
+    static {
+        int total = 0;
+        for (CategorySpec category : CATEGORIES) {
+            total += category.weight();
+        }
+        TOTAL_WEIGHT = total;
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductBulkImportService bulkImportService;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private CatalogResponseCache catalogResponseCache;
+
+    @Autowired
+    private ProductChangeFeed changeFeed;
+
+    @Value("${product.generator.size:1000000}")
+    private long size;
+
+    @Value("${product.generator.seed:20250826}")
+    private long seed;
+
+    @Value("${product.generator.batch-size:2000}")
+    private int batchSize;
+
+    @Override
+    public void run(String... args) {
+        Long maxRow = jdbcTemplate.queryForObject(MAX_ROW_SQL, Long.class);
+        long existing = maxRow == null ? 0 : maxRow;
+        if (existing >= size) {
+            logger.info("부하 테스트 카탈로그가 이미 있어 생성을 건너뜁니다: 생성된 행 {}건, 목표 {}건", existing, size);
+            return;
+        }
+
+        logger.info("부하 테스트 카탈로그 생성 시작: {}번부터 {}건까지 (seed={})", existing, size, seed);
+        long start = System.currentTimeMillis();
+        Set<String> categories = new HashSet<>();
+        List<Product> batch = new ArrayList<>(batchSize);
+
+        for (long index = existing; index < size; index++) {
+            Product product = generate(index);
+            categories.add(product.getCategory());
+            batch.add(product);
+            if (batch.size() >= batchSize) {
+                bulkImportService.insert(batch);
+                batch.clear();
+            }
+            if ((index + 1) % 100000 == 0) {
+                long elapsed = Math.max(1, System.currentTimeMillis() - start);
+                logger.info("부하 테스트 카탈로그 생성 중: {}/{}건, {}건/초",
+                        index + 1, size, (index + 1 - existing) * 1000 / elapsed);
+            }
+        }
+        if (!batch.isEmpty()) {
+            bulkImportService.insert(batch);
+        }
+
+        // 이전 실행에서 남은 목록 캐시 정리 (색인은 ApplicationReadyEvent에서 생성)
+        productCache.onBulkImported(categories);
+        catalogResponseCache.bumpVersion();
+        changeFeed.publish(changeFeed.recordResync());
+        logger.info("부하 테스트 카탈로그 생성 완료: {}건, {}ms", size - existing, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * index번째 상품 (seed와 index만으로 결정)
+     */
+    Product generate(long index) {
+        SplittableRandom random = new SplittableRandom(seed + index * 0x9E3779B97F4A7C15L);
+        CategorySpec category = pickCategory(random);
+
+        String item = pick(random, category.items());
+        String style = pick(random, STYLES);
+        String color = pick(random, COLORS);
+        String material = pick(random, MATERIALS);
+        String name = style + " " + color + " " + material + " " + item + " " + (index + 1);
+        String description = pick(random, SEASONS) + " 시즌 " + style + " " + item + ", " + material + " 소재의 " + color + " 컬러";
+
+        // 로그정규분포 가격, 100원 단위 (최소 1,000원)
+        double price = category.medianPrice() * Math.exp(category.priceSigma() * random.nextGaussian());
+        int roundedPrice = (int) Math.max(1000, Math.round(price / 100.0) * 100);
+
+        // 약 5%는 품절, 나머지는 소량 재고가 많은 분포
+        int stock = random.nextInt(100) < 5 ? 0 : (int) Math.min(1000, 1 + Math.round(-Math.log(1 - random.nextDouble()) * 80));
+
+        String image = IMAGE_PREFIX + ((index % 50) + 1) + ".jpg";
+        return new Product(name, description, roundedPrice, stock, image, category.name());
+    }
+
+    private static CategorySpec pickCategory(SplittableRandom random) {
+        int r = random.nextInt(TOTAL_WEIGHT);
+        for (CategorySpec category : CATEGORIES) {
+            r -= category.weight();
+            if (r < 0) {
+                return category;
+            }
+        }
+        return CATEGORIES[CATEGORIES.length - 1];
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -3,7 +3,14 @@ package com.shop.product;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+    // Keyset 페이지네이션용 복합 인덱스 (정렬값, id)
+    @Index(name = "idx_products_price_id", columnList = "price, id"),
+    @Index(name = "idx_products_name_id", columnList = "name, id"),
+    @Index(name = "idx_products_category_id", columnList = "category, id"),
+    @Index(name = "idx_products_category_price_id", columnList = "category, price, id"),
+    @Index(name = "idx_products_category_name_id", columnList = "category, name, id")
+})
 public class Product {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -16,6 +23,9 @@ public class Product {
     private String image;
     private String category;
     
+    // Hot SKU 모드: 재고를 Redis 카운터로 관리하고 MySQL에는 주기적으로 반영
+    private boolean hotSku;
+    
     public Product() {}
     
     public Product(String name, String description, int price, int stock, String image, String category) {
@@ -48,4 +58,7 @@ public class Product {
     
     public String getCategory() { return category; }
     public void setCategory(String category) { this.category = category; }
+    
+    public boolean isHotSku() { return hotSku; }
+    public void setHotSku(boolean hotSku) { this.hotSku = hotSku; }
 }
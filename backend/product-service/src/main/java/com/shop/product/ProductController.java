@@ -1,7 +1,14 @@
 package com.shop.product;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import com.shop.product.cache.CatalogResponseCache;
+import com.shop.product.stats.ProductViewStatsService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
@@ -15,24 +22,81 @@ public class ProductController {
     @Autowired
     private ProductService productService;
     
+    @Autowired
+    private ProductViewStatsService viewStatsService;
+    
     @Value("${APP_VERSION:unknown}")
     private String appVersion;
     
+    /**
+     * 상품 목록 조회
+     * cursor/size 파라미터가 있으면 Keyset 페이지, 없으면 기존처럼 전체 목록
+     * (product.catalog.full-list.enabled=false면 항상 Keyset 페이지)
+     * 전체 목록은 미리 직렬화/압축된 바이트로 응답하고 ETag가 같으면 304
+     */
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
+    public ResponseEntity<?> getAllProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         try {
-            List<Product> products = productService.getAllProducts();
-            return ResponseEntity.ok(products);
+            if (cursor != null || size != null || !productService.isFullListEnabled()) {
+                return ResponseEntity.ok(productService.getProductPage(null, cursor, size, sort, direction));
+            }
+            return catalogResponse(ifNoneMatch, acceptEncoding);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
+    private ResponseEntity<?> catalogResponse(String ifNoneMatch, String acceptEncoding) {
+        CatalogResponseCache.Body body = productService.getCatalogResponse();
+        
+        // 클라이언트는 매번 재검증하고, 변경이 없으면 본문 없이 304
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(body.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (body.matches(ifNoneMatch)) {
+            productService.recordCatalogResponse("not_modified");
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .headers(builder.build().getHeaders())
+                    .build();
+        }
+        
+        builder.contentType(MediaType.APPLICATION_JSON);
+        if (acceptsGzip(acceptEncoding)) {
+            productService.recordCatalogResponse("gzip");
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.getGzip());
+        }
+        productService.recordCatalogResponse("identity");
+        return builder.body(body.getJson());
+    }
+    
+    private boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String encoding : acceptEncoding.split(",")) {
+            String[] parts = encoding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+    
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProduct(@PathVariable Long id) {
+    public ResponseEntity<Product> getProduct(@PathVariable Long id, HttpServletRequest request) {
         try {
             Product product = productService.getProductById(id);
             if (product != null) {
+                viewStatsService.recordView(id, visitorId(request));
                 return ResponseEntity.ok(product);
             }
             return ResponseEntity.notFound().build();
@@ -41,11 +105,55 @@ public class ProductController {
         }
     }
     
+    /**
+     * 순 방문자 식별값 (로그인 사용자는 이메일, 아니면 클라이언트 IP)
+     */
+    private String visitorId(HttpServletRequest request) {
+        String email = request.getHeader("User-Email");
+        if (email != null && !email.isBlank()) {
+            return "u:" + email;
+        }
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (forwardedFor != null && !forwardedFor.isBlank()) {
+            return "ip:" + forwardedFor.split(",")[0].trim();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+    
+    /**
+     * 상품 일괄 조회 (장바구니/주문 서비스의 가격·재고 재확인용)
+     * 요청: {"ids": [1, 2, 3]} / 응답: {"products": [...], "missingIds": [...]}
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> getProductsByIds(@RequestBody Map<String, List<Long>> request) {
+        try {
+            List<Long> ids = request.get("ids");
+            if (ids == null) {
+                return ResponseEntity.badRequest().body(Map.of("message", "ids가 필요합니다"));
+            }
+            return ResponseEntity.ok(productService.getProductsByIds(ids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "서버 오류"));
+        }
+    }
+    
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<Product>> getProductsByCategory(@PathVariable String category) {
+    public ResponseEntity<?> getProductsByCategory(
+            @PathVariable String category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction) {
         try {
+            if (cursor != null || size != null) {
+                return ResponseEntity.ok(productService.getProductPage(category, cursor, size, sort, direction));
+            }
             List<Product> products = productService.getProductsByCategory(category);
             return ResponseEntity.ok(products);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -61,6 +169,38 @@ public class ProductController {
         }
     }
     
+    /**
+     * 상품명 자동완성 (인기순 상위 N개)
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<Map<String, Object>>> suggestProducts(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(productService.suggestProducts(prefix, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * 패싯 집계 (카테고리별 개수, 가격 구간별 개수, 재고 있는 상품 수)
+     * 예: /facets?category=상의&priceBucket=1&priceBucket=2&inStock=true
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<?> getFacets(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) List<Integer> priceBucket,
+            @RequestParam(defaultValue = "false") boolean inStock) {
+        try {
+            return ResponseEntity.ok(productService.getFacets(category, priceBucket, inStock));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "서버 오류"));
+        }
+    }
+    
     @PostMapping
     public ResponseEntity<?> createProduct(@RequestBody Product product) {
         try {
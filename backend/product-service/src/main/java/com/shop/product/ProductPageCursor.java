@@ -0,0 +1,90 @@
+package com.shop.product;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset 페이지네이션 커서 (마지막 행의 정렬 값 + id)
+ * 클라이언트에는 Base64 URL-safe 문자열로만 노출
+ * 정렬 값이 NULL(이름 없는 상품)이면 값 대신 NULL 표시를 기록
+ */
+public class ProductPageCursor {
+    
+    private final ProductSort sort;
+    private final boolean descending;
+    // NULL 정렬 값은 null
+    private final String lastValue;
+    private final long lastId;
+    
+    public ProductPageCursor(ProductSort sort, boolean descending, String lastValue, long lastId) {
+        this.sort = sort;
+        this.descending = descending;
+        this.lastValue = lastValue;
+        this.lastId = lastId;
+    }
+    
+    public static ProductPageCursor after(Product last, ProductSort sort, boolean descending) {
+        Object value = sort.extract(last);
+        return new ProductPageCursor(sort, descending, value == null ? null : String.valueOf(value), last.getId());
+    }
+    
+    public String encode() {
+        String raw = sort.name() + "|" + (descending ? "d" : "a") + "|" + lastId + "|"
+                + (lastValue == null ? "n|" : "v|" + lastValue);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * 커서 해석, 요청한 정렬 기준과 다르면 거부
+     */
+    public static ProductPageCursor decode(String encoded, ProductSort sort, boolean descending) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            // 이름에 '|'가 들어갈 수 있으므로 값은 마지막 필드로 두고 5개로만 분리
+            String[] parts = raw.split("\\|", 5);
+            ProductSort cursorSort = ProductSort.valueOf(parts[0]);
+            boolean cursorDescending = "d".equals(parts[1]);
+            if (cursorSort != sort || cursorDescending != descending) {
+                throw new IllegalArgumentException("정렬 기준이 커서와 일치하지 않습니다");
+            }
+            String value;
+            if ("n".equals(parts[3])) {
+                value = null;
+            } else if ("v".equals(parts[3])) {
+                value = parts[4];
+            } else {
+                throw new IllegalArgumentException("잘못된 커서입니다");
+            }
+            ProductPageCursor cursor = new ProductPageCursor(cursorSort, cursorDescending, value, Long.parseLong(parts[2]));
+            cursor.sortValue();
+            return cursor;
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다", e);
+        }
+    }
+    
+    /**
+     * JPQL 파라미터로 바인딩할 정렬 값 (필드 타입에 맞게 변환, NULL이면 null)
+     */
+    public Object sortValue() {
+        if (lastValue == null) {
+            if (sort == ProductSort.NAME) {
+                return null;
+            }
+            throw new IllegalArgumentException("잘못된 커서입니다");
+        }
+        switch (sort) {
+            case PRICE:
+                return Integer.valueOf(lastValue);
+            case NAME:
+                return lastValue;
+            default:
+                return lastId;
+        }
+    }
+    
+    public ProductSort getSort() { return sort; }
+    public boolean isDescending() { return descending; }
+    public long getLastId() { return lastId; }
+    public boolean isNullValue() { return lastValue == null; }
+}
@@ -1,9 +1,42 @@
 package com.shop.product;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import java.util.List;
+import java.util.Optional;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
     List<Product> findByCategory(String category);
     List<Product> findByNameContaining(String name);
+    
+    /**
+     * 조건부 재고 차감 (단일 UPDATE, 재고 부족 또는 Hot SKU면 0 반환)
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock - ?2 WHERE p.id = ?1 AND p.stock >= ?2 AND p.hotSku = false")
+    int decrementStock(Long id, int quantity);
+    
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock + ?2 WHERE p.id = ?1")
+    int incrementStock(Long id, int quantity);
+    
+    @Query("SELECT p.stock FROM Product p WHERE p.id = ?1")
+    Optional<Integer> findStockById(Long id);
+    
+    /**
+     * Hot SKU의 Redis 차감분 반영 (Hot 모드가 해제된 뒤에는 무시)
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock - ?2 WHERE p.id = ?1 AND p.hotSku = true")
+    int applyHotStockDelta(Long id, int delta);
+    
+    /**
+     * Hot 모드 전환용 행 잠금 조회 (전환 중 SQL 차감을 잠시 대기시킴)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id = ?1")
+    Optional<Product> findByIdForUpdate(Long id);
 }
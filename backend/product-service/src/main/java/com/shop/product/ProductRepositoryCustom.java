@@ -0,0 +1,12 @@
+package com.shop.product;
+
+import java.util.List;
+
+public interface ProductRepositoryCustom {
+    /**
+     * Keyset 페이지 조회 (OFFSET 없이 커서 이후 행만 인덱스로 탐색)
+     * @param category null이면 전체
+     * @param after null이면 첫 페이지
+     */
+    List<Product> findPage(String category, ProductSort sort, boolean descending, ProductPageCursor after, int limit);
+}
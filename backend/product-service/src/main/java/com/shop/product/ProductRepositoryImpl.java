@@ -0,0 +1,66 @@
+package com.shop.product;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.List;
+
+/**
+ * ProductRepositoryCustom 구현 (Spring Data가 ProductRepository에 자동으로 결합)
+ */
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<Product> findPage(String category, ProductSort sort, boolean descending, ProductPageCursor after, int limit) {
+        String field = "p." + sort.getField();
+        String op = descending ? "<" : ">";
+        String direction = descending ? " DESC" : " ASC";
+        
+        StringBuilder jpql = new StringBuilder("SELECT p FROM Product p WHERE 1 = 1");
+        if (category != null) {
+            jpql.append(" AND p.category = :category");
+        }
+        if (after != null) {
+            if (sort == ProductSort.ID) {
+                jpql.append(" AND p.id ").append(op).append(" :lastId");
+            } else if (after.isNullValue()) {
+                // MySQL은 NULL을 가장 작은 값으로 정렬 (오름차순 맨 앞, 내림차순 맨 뒤)
+                jpql.append(" AND ((").append(field).append(" IS NULL AND p.id ").append(op).append(" :lastId)");
+                if (!descending) {
+                    jpql.append(" OR ").append(field).append(" IS NOT NULL");
+                }
+                jpql.append(")");
+            } else {
+                // (정렬값, id) 튜플 비교: 인덱스 (정렬값, id) 범위 탐색으로 풀림
+                jpql.append(" AND (").append(field).append(" ").append(op).append(" :lastValue")
+                    .append(" OR (").append(field).append(" = :lastValue AND p.id ").append(op).append(" :lastId)");
+                if (descending) {
+                    // 내림차순에서는 NULL 정렬 값이 NULL 아닌 값 뒤에 옴
+                    jpql.append(" OR ").append(field).append(" IS NULL");
+                }
+                jpql.append(")");
+            }
+        }
+        jpql.append(" ORDER BY ");
+        if (sort != ProductSort.ID) {
+            jpql.append(field).append(direction).append(", ");
+        }
+        jpql.append("p.id").append(direction);
+        
+        TypedQuery<Product> query = entityManager.createQuery(jpql.toString(), Product.class);
+        if (category != null) {
+            query.setParameter("category", category);
+        }
+        if (after != null) {
+            query.setParameter("lastId", after.getLastId());
+            if (sort != ProductSort.ID && !after.isNullValue()) {
+                query.setParameter("lastValue", after.sortValue());
+            }
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+}
@@ -1,8 +1,23 @@
 package com.shop.product;
 
+import com.shop.product.cache.CatalogResponseCache;
+import com.shop.product.cache.ProductCache;
+import com.shop.product.feed.ProductChange;
+import com.shop.product.feed.ProductChangeFeed;
+import com.shop.product.search.ProductFacetIndex;
+import com.shop.product.search.ProductSearchIndex;
+import com.shop.product.search.ProductSuggestIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -10,43 +25,222 @@ public class ProductService {
     @Autowired
     private ProductRepository productRepository;
     
+    @Autowired
+    private ProductCache productCache;
+    
+    @Autowired
+    private CatalogResponseCache catalogResponseCache;
+    
+    @Autowired
+    private ProductSearchIndex searchIndex;
+    
+    @Autowired
+    private ProductSuggestIndex suggestIndex;
+    
+    @Autowired
+    private ProductFacetIndex facetIndex;
+    
+    @Autowired
+    private CatalogIndexer catalogIndexer;
+    
+    @Autowired
+    private ProductChangeFeed changeFeed;
+    
+    @Value("${product.search.max-results:100}")
+    private int searchMaxResults;
+    
+    @Value("${product.page.default-size:20}")
+    private int defaultPageSize;
+    
+    @Value("${product.page.max-size:100}")
+    private int maxPageSize;
+    
+    @Value("${product.batch.max-size:200}")
+    private int batchMaxSize;
+    
+    // 전체 목록을 한 번에 조회/캐시할지 여부 (대량 카탈로그에서는 끄고 Keyset 페이지만 사용)
+    @Value("${product.catalog.full-list.enabled:true}")
+    private boolean fullListEnabled;
+    
     public List<Product> getAllProducts() {
+        if (!fullListEnabled) {
+            return List.of();
+        }
         try {
-            return productRepository.findAll();
+            return productCache.get(ProductCache.CACHE_ALL, ProductCache.allKey(),
+                    () -> productRepository.findAll());
         } catch (Exception e) {
             return List.of();
         }
     }
     
+    /**
+     * 전체 상품 목록 응답 (직렬화/압축된 바이트, 카탈로그 버전별 캐시)
+     * 조회 실패 시 빈 목록이 캐시되지 않도록 예외를 그대로 전달
+     */
+    public CatalogResponseCache.Body getCatalogResponse() {
+        if (!fullListEnabled) {
+            throw new IllegalStateException("전체 상품 목록 조회가 비활성화되어 있습니다");
+        }
+        return catalogResponseCache.get(() -> productCache.get(ProductCache.CACHE_ALL, ProductCache.allKey(),
+                () -> productRepository.findAll()));
+    }
+    
+    public boolean isFullListEnabled() {
+        return fullListEnabled;
+    }
+    
+    public void recordCatalogResponse(String result) {
+        catalogResponseCache.record(result);
+    }
+    
     public Product getProductById(Long id) {
         try {
-            return productRepository.findById(id).orElse(null);
+            Product product = productCache.get(ProductCache.CACHE_ITEM, ProductCache.itemKey(id),
+                    () -> productRepository.findById(id).orElse(null));
+            if (product != null) {
+                // 상세 조회 수를 자동완성 인기도로 사용
+                suggestIndex.recordHit(id);
+            }
+            return product;
         } catch (Exception e) {
             return null;
         }
     }
     
+    /**
+     * 여러 상품 일괄 조회 (요청 순서 유지, 중복 ID 제거)
+     * 요청 ID 수가 상한을 넘으면 IllegalArgumentException
+     */
+    public Map<String, Object> getProductsByIds(List<Long> ids) {
+        LinkedHashSet<Long> uniqueIds = new LinkedHashSet<>(ids);
+        uniqueIds.remove(null);
+        if (uniqueIds.size() > batchMaxSize) {
+            throw new IllegalArgumentException("한 번에 조회할 수 있는 상품은 최대 " + batchMaxSize + "개입니다");
+        }
+        
+        Map<Long, Product> found = productCache.getAll(uniqueIds, productRepository::findAllById);
+        
+        List<Product> products = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : uniqueIds) {
+            Product product = found.get(id);
+            if (product != null) {
+                products.add(product);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("products", products);
+        result.put("missingIds", missingIds);
+        return result;
+    }
+    
     public List<Product> getProductsByCategory(String category) {
         try {
-            return productRepository.findByCategory(category);
+            return productCache.get(ProductCache.CACHE_CATEGORY, ProductCache.categoryKey(category),
+                    () -> productRepository.findByCategory(category));
         } catch (Exception e) {
             return List.of();
         }
     }
     
+    /**
+     * Keyset(커서) 페이지 조회
+     * 잘못된 커서/정렬 기준은 IllegalArgumentException
+     * @param category null이면 전체 상품
+     */
+    public Map<String, Object> getProductPage(String category, String cursor, Integer size, String sort, String direction) {
+        ProductSort productSort = ProductSort.from(sort);
+        if (!"asc".equalsIgnoreCase(direction) && !"desc".equalsIgnoreCase(direction)) {
+            throw new IllegalArgumentException("정렬 방향은 asc 또는 desc만 가능합니다");
+        }
+        boolean descending = "desc".equalsIgnoreCase(direction);
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        ProductPageCursor after = (cursor == null || cursor.isEmpty())
+                ? null
+                : ProductPageCursor.decode(cursor, productSort, descending);
+        
+        // 다음 페이지 존재 여부 확인용으로 1건 더 조회
+        List<Product> rows = productRepository.findPage(category, productSort, descending, after, pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<Product> items = hasNext ? rows.subList(0, pageSize) : rows;
+        
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put("items", items);
+        page.put("size", items.size());
+        page.put("hasNext", hasNext);
+        page.put("nextCursor", hasNext
+                ? ProductPageCursor.after(items.get(items.size() - 1), productSort, descending).encode()
+                : null);
+        return page;
+    }
+    
     public List<Product> searchProducts(String keyword) {
         try {
+            // 색인 구성 전(기동 직후)에만 DB LIKE 검색 사용
+            if (searchIndex.isReady()) {
+                return searchIndex.search(keyword, searchMaxResults);
+            }
             return productRepository.findByNameContaining(keyword);
         } catch (Exception e) {
             return List.of();
         }
     }
     
-    public Product saveProduct(Product product) {
+    /**
+     * 카테고리/가격 구간/재고 패싯 집계 (잘못된 가격 구간은 IllegalArgumentException)
+     */
+    public Map<String, Object> getFacets(String category, List<Integer> priceBuckets, boolean inStockOnly) {
+        return facetIndex.facets(category, priceBuckets, inStockOnly);
+    }
+    
+    public List<Map<String, Object>> suggestProducts(String prefix, int limit) {
         try {
-            return productRepository.save(product);
+            return suggestIndex.suggest(prefix, limit);
         } catch (Exception e) {
-            return null;
+            return List.of();
+        }
+    }
+    
+    /**
+     * 상품 저장과 변경 로그 기록을 한 트랜잭션으로 처리
+     * 캐시/색인/버전 반영은 커밋 후에 수행 (롤백된 변경이 노출되지 않도록)
+     * 저장 실패 시 예외를 그대로 전달 (트랜잭션 롤백, 컨트롤러에서 오류 응답)
+     */
+    @Transactional
+    public Product saveProduct(Product product) {
+        // 카테고리 변경 시 이전 카테고리 캐시도 무효화해야 하므로 저장 전에 조회
+        String previousCategory = null;
+        boolean exists = false;
+        if (product.getId() != null) {
+            Product previous = productRepository.findById(product.getId()).orElse(null);
+            if (previous != null) {
+                exists = true;
+                previousCategory = previous.getCategory();
+                // Hot SKU 플래그와 재고는 Hot 모드 API로만 변경 (Redis 카운터가 원본)
+                product.setHotSku(previous.isHotSku());
+                if (previous.isHotSku()) {
+                    product.setStock(previous.getStock());
+                }
+            }
         }
+        
+        Product saved = productRepository.save(product);
+        ProductChange change = changeFeed.record(saved, exists ? ProductChange.UPDATE : ProductChange.INSERT);
+        
+        String staleCategory = previousCategory;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                productCache.onProductSaved(saved, staleCategory);
+                catalogResponseCache.bumpVersion();
+                catalogIndexer.onProductSaved(saved);
+                changeFeed.publish(change);
+            }
+        });
+        return saved;
     }
 }
@@ -0,0 +1,44 @@
+package com.shop.product;
+
+import java.util.Locale;
+
+/**
+ * 상품 목록 정렬 기준 (Keyset 페이지네이션용, 동점은 항상 id로 구분)
+ */
+public enum ProductSort {
+    ID("id"),
+    PRICE("price"),
+    NAME("name");
+    
+    private final String field;
+    
+    ProductSort(String field) {
+        this.field = field;
+    }
+    
+    public String getField() {
+        return field;
+    }
+    
+    /**
+     * 정렬 값 추출 (커서에 기록)
+     */
+    public Object extract(Product product) {
+        switch (this) {
+            case PRICE:
+                return product.getPrice();
+            case NAME:
+                return product.getName();
+            default:
+                return product.getId();
+        }
+    }
+    
+    public static ProductSort from(String value) {
+        try {
+            return ProductSort.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("지원하지 않는 정렬 기준입니다: " + value);
+        }
+    }
+}
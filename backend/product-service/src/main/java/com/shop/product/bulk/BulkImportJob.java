@@ -0,0 +1,91 @@
+package com.shop.product.bulk;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 상품 일괄 등록 작업 진행 상태 (처리/등록/거부 건수, 처리량)
+ */
+public class BulkImportJob {
+
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    // 응답 크기 제한을 위해 거부 사유는 앞부분만 보관
+    private static final int MAX_ERRORS = 20;
+
+    private final String jobId;
+    private final String format;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final long startNanos = System.nanoTime();
+
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong inserted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+
+    private volatile String status = RUNNING;
+    private volatile String message;
+    private volatile LocalDateTime finishedAt;
+    private volatile long elapsedNanos;
+
+    public BulkImportJob(String jobId, String format) {
+        this.jobId = jobId;
+        this.format = format;
+    }
+
+    void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    void inserted(int count) {
+        inserted.addAndGet(count);
+    }
+
+    void reject(long line, String reason) {
+        rejected.incrementAndGet();
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(line + "행: " + reason);
+        }
+    }
+
+    void finish(String status, String message) {
+        this.elapsedNanos = System.nanoTime() - startNanos;
+        this.finishedAt = LocalDateTime.now();
+        this.message = message;
+        this.status = status;
+    }
+
+    public String getJobId() { return jobId; }
+    public String getFormat() { return format; }
+    public String getStatus() { return status; }
+    public String getMessage() { return message; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public long getRowsRead() { return rowsRead.get(); }
+    public long getInserted() { return inserted.get(); }
+    public long getRejected() { return rejected.get(); }
+
+    public List<String> getErrors() {
+        synchronized (errors) {
+            return new ArrayList<>(errors);
+        }
+    }
+
+    public long getElapsedMillis() {
+        long nanos = finishedAt != null ? elapsedNanos : System.nanoTime() - startNanos;
+        return nanos / 1_000_000;
+    }
+
+    /**
+     * 초당 등록 건수
+     */
+    public long getRowsPerSecond() {
+        long millis = getElapsedMillis();
+        return millis > 0 ? inserted.get() * 1000 / millis : 0;
+    }
+}
@@ -0,0 +1,106 @@
+package com.shop.product.bulk;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 상품 일괄 등록 API
+ * 본문은 NDJSON(application/x-ndjson) 또는 CSV(text/csv) 스트림, Content-Encoding: gzip 지원
+ * 요청은 등록이 끝날 때 응답하고, 진행 중인 작업은 GET /api/products/bulk/{jobId}로 확인
+ */
+@RestController
+@RequestMapping("/api/products/bulk")
+@CrossOrigin(origins = "${CORS_ALLOWED_ORIGINS}")
+public class ProductBulkImportController {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Autowired
+    private ProductBulkImportService bulkImportService;
+
+    /**
+     * 일괄 등록
+     * jobId를 지정하면 같은 ID로 진행 상황 조회 가능 (없으면 생성)
+     */
+    @PostMapping
+    public ResponseEntity<?> importProducts(
+            HttpServletRequest request,
+            @RequestParam(required = false) String jobId) {
+        String format = resolveFormat(request.getContentType());
+        if (format == null) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+                    .body(Map.of("message", "application/x-ndjson 또는 text/csv 형식만 지원합니다"));
+        }
+
+        String id = jobId != null && !jobId.isBlank() ? jobId : UUID.randomUUID().toString();
+        BulkImportJob job;
+        try {
+            job = bulkImportService.start(id, format);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
+        }
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(Map.of("message", "진행 중인 일괄 등록 작업이 있습니다"));
+        }
+
+        InputStream input;
+        try {
+            input = request.getInputStream();
+            if ("gzip".equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING))) {
+                input = new GZIPInputStream(input, 1 << 16);
+            }
+        } catch (Exception e) {
+            logger.error("상품 일괄 등록 요청 처리 실패: jobId={}, error={}", id, e.getMessage());
+            bulkImportService.abort(job, e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("message", "요청 본문을 읽을 수 없습니다"));
+        }
+        job = bulkImportService.run(job, input);
+
+        if (BulkImportJob.FAILED.equals(job.getStatus())) {
+            return ResponseEntity.internalServerError().body(job);
+        }
+        return ResponseEntity.ok(job);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<BulkImportJob>> getRecentJobs() {
+        return ResponseEntity.ok(bulkImportService.getRecentJobs());
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<?> getJob(@PathVariable String jobId) {
+        BulkImportJob job = bulkImportService.getJob(jobId);
+        if (job != null) {
+            return ResponseEntity.ok(job);
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    private String resolveFormat(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        String type = contentType.toLowerCase();
+        if (type.startsWith("application/x-ndjson") || type.startsWith("application/ndjson")
+                || type.startsWith("application/jsonl")) {
+            return ProductImportReader.NDJSON;
+        }
+        if (type.startsWith("text/csv")) {
+            return ProductImportReader.CSV;
+        }
+        return null;
+    }
+}
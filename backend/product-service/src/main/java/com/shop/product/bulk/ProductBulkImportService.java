@@ -0,0 +1,245 @@
+package com.shop.product.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shop.product.CatalogIndexer;
+import com.shop.product.Product;
+import com.shop.product.cache.CatalogResponseCache;
+import com.shop.product.cache.ProductCache;
+import com.shop.product.feed.ProductChange;
+import com.shop.product.feed.ProductChangeFeed;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 상품 일괄 등록 (공급사 피드)
+ * 입력을 스트림으로 읽으면서 JDBC 배치 INSERT로 저장 (JPA save 1건씩 대신)
+ * rewriteBatchedStatements=true 설정으로 드라이버가 배치를 multi-row INSERT 하나로 묶어 전송
+ */
+@Service
+public class ProductBulkImportService {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    // hot_sku는 NOT NULL 컬럼이므로 명시적으로 false 저장
+    private static final String INSERT_SQL =
+            "INSERT INTO products (name, description, price, stock, image, category, hot_sku) " +
+            "VALUES (?, ?, ?, ?, ?, ?, false)";
+
+    // VARCHAR(255) 컬럼 길이
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    // 조회용으로 보관하는 최근 작업 수
+    private static final int MAX_RECENT_JOBS = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private CatalogResponseCache catalogResponseCache;
+
+    @Autowired
+    private CatalogIndexer catalogIndexer;
+
+    @Autowired
+    private ProductChangeFeed changeFeed;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${product.bulk.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${product.bulk.max-concurrent-jobs:1}")
+    private int maxConcurrentJobs;
+
+    @Value("${product.bulk.progress-log-rows:100000}")
+    private long progressLogRows;
+
+    private Semaphore permits;
+
+    private final Map<String, BulkImportJob> recentJobs = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BulkImportJob> eldest) {
+            return size() > MAX_RECENT_JOBS;
+        }
+    };
+
+    @PostConstruct
+    public void init() {
+        permits = new Semaphore(maxConcurrentJobs);
+    }
+
+    /**
+     * 동시 실행 가능한 작업 수를 넘으면 null, 이미 사용된 jobId면 IllegalStateException
+     */
+    public BulkImportJob start(String jobId, String format) {
+        // jobId 중복 확인과 등록을 한 번에 처리 (같은 jobId 동시 요청 중 하나만 시작)
+        synchronized (recentJobs) {
+            if (recentJobs.containsKey(jobId)) {
+                throw new IllegalStateException("이미 사용된 jobId입니다");
+            }
+            if (!permits.tryAcquire()) {
+                return null;
+            }
+            BulkImportJob job = new BulkImportJob(jobId, format);
+            recentJobs.put(jobId, job);
+            return job;
+        }
+    }
+
+    /**
+     * 입력 스트림을 끝까지 읽어 배치 단위로 INSERT (요청 스레드에서 실행)
+     * 배치마다 커밋되므로 중간에 실패해도 이미 등록된 행은 유지되고 inserted 건수로 확인 가능
+     */
+    public BulkImportJob run(BulkImportJob job, InputStream input) {
+        Set<String> categories = new HashSet<>();
+        List<Product> batch = new ArrayList<>(batchSize);
+        long nextProgressLog = progressLogRows;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 1 << 16)) {
+            ProductImportReader importReader = new ProductImportReader(reader, job.getFormat(), objectMapper);
+
+            ProductImportReader.Row row;
+            while ((row = importReader.next()) != null) {
+                job.rowRead();
+                String error = row.error() != null ? row.error() : validate(row.product());
+                if (error != null) {
+                    job.reject(row.line(), error);
+                    continue;
+                }
+
+                Product product = row.product();
+                batch.add(product);
+                if (product.getCategory() != null) {
+                    categories.add(product.getCategory());
+                }
+
+                if (batch.size() >= batchSize) {
+                    flush(job, batch);
+                }
+                if (job.getRowsRead() >= nextProgressLog) {
+                    nextProgressLog += progressLogRows;
+                    logger.info("상품 일괄 등록 진행: jobId={}, 처리 {}건, 등록 {}건, 거부 {}건, {}건/초",
+                            job.getJobId(), job.getRowsRead(), job.getInserted(), job.getRejected(), job.getRowsPerSecond());
+                }
+            }
+            flush(job, batch);
+            job.finish(BulkImportJob.COMPLETED, null);
+        } catch (Exception e) {
+            logger.error("상품 일괄 등록 실패: jobId={}, error={}", job.getJobId(), e.getMessage(), e);
+            job.finish(BulkImportJob.FAILED, e.getMessage());
+        } finally {
+            permits.release();
+            if (job.getInserted() > 0) {
+                afterImport(categories);
+            }
+        }
+
+        meterRegistry.counter("product.bulk.rows", "result", "inserted").increment(job.getInserted());
+        meterRegistry.counter("product.bulk.rows", "result", "rejected").increment(job.getRejected());
+        logger.info("상품 일괄 등록 종료: jobId={}, status={}, 등록 {}건, 거부 {}건, {}ms ({}건/초)",
+                job.getJobId(), job.getStatus(), job.getInserted(), job.getRejected(),
+                job.getElapsedMillis(), job.getRowsPerSecond());
+        return job;
+    }
+
+    /**
+     * 본문을 읽기 전에 실패한 작업 정리
+     */
+    public void abort(BulkImportJob job, String message) {
+        job.finish(BulkImportJob.FAILED, message);
+        permits.release();
+    }
+
+    public BulkImportJob getJob(String jobId) {
+        synchronized (recentJobs) {
+            return recentJobs.get(jobId);
+        }
+    }
+
+    public List<BulkImportJob> getRecentJobs() {
+        synchronized (recentJobs) {
+            return new ArrayList<>(recentJobs.values());
+        }
+    }
+
+    /**
+     * 상품 배치 INSERT (id는 AUTO_INCREMENT로 생성, 저장 후 캐시/색인 반영은 호출 측 책임)
+     */
+    public void insert(List<Product> products) {
+        List<Object[]> args = new ArrayList<>(products.size());
+        for (Product product : products) {
+            args.add(new Object[] { product.getName(), product.getDescription(), product.getPrice(),
+                    product.getStock(), product.getImage(), product.getCategory() });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, args);
+    }
+
+    private void flush(BulkImportJob job, List<Product> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        insert(batch);
+        job.inserted(batch.size());
+        batch.clear();
+    }
+
+    private String validate(Product product) {
+        if (product == null || product.getName() == null || product.getName().isBlank()) {
+            return "상품명이 없습니다";
+        }
+        if (product.getPrice() < 0 || product.getStock() < 0) {
+            return "가격과 재고는 0 이상이어야 합니다";
+        }
+        if (tooLong(product.getName()) || tooLong(product.getDescription())
+                || tooLong(product.getImage()) || tooLong(product.getCategory())) {
+            return "문자열 길이는 " + MAX_TEXT_LENGTH + "자 이하여야 합니다";
+        }
+        return null;
+    }
+
+    private static boolean tooLong(String value) {
+        return value != null && value.length() > MAX_TEXT_LENGTH;
+    }
+
+    /**
+     * 등록 후처리: 목록 캐시 무효화, 카탈로그 버전 증가, 전체 재색인 (다른 Pod에도 전파), 변경 피드 기록
+     */
+    private void afterImport(Set<String> categories) {
+        try {
+            productCache.onBulkImported(categories);
+            catalogResponseCache.bumpVersion();
+            catalogIndexer.rebuildAll();
+
+            // 건별 변경 로그 대신 재동기화 표시 (수백만 건을 로그로 남기지 않음)
+            ProductChange resync = changeFeed.recordResync();
+            changeFeed.publish(resync);
+        } catch (Exception e) {
+            logger.error("상품 일괄 등록 후처리 실패: {}", e.getMessage(), e);
+        }
+    }
+}
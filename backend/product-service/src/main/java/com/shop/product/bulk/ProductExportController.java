@@ -0,0 +1,55 @@
+package com.shop.product.bulk;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Map;
+
+/**
+ * 카탈로그 내보내기 API (파트너 동기화용)
+ * 응답은 application/x-ndjson, 한 줄에 상품 하나 (id 오름차순)
+ * 중간에 끊기면 마지막으로 받은 상품 id를 after로 넘겨 이어받기
+ */
+@RestController
+@RequestMapping("/api/products")
+@CrossOrigin(origins = "${CORS_ALLOWED_ORIGINS}")
+public class ProductExportController {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    @Autowired
+    private ProductExportService exportService;
+
+    @GetMapping("/export")
+    public ResponseEntity<?> export(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(required = false) String category) {
+        if (after < 0) {
+            return ResponseEntity.badRequest().body(Map.of("message", "after는 0 이상이어야 합니다"));
+        }
+        if (!exportService.tryAcquire()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(Map.of("message", "진행 중인 내보내기가 많습니다. 잠시 후 다시 시도하세요"));
+        }
+
+        StreamingResponseBody body = out -> {
+            try {
+                exportService.export(after, category, out);
+            } catch (Exception e) {
+                logger.warn("상품 내보내기 실패: after={}, error={}", after, e.getMessage());
+                throw e;
+            } finally {
+                exportService.release();
+            }
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+}
@@ -0,0 +1,144 @@
+package com.shop.product.bulk;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 전체 카탈로그 NDJSON 내보내기 (메모리 사용량이 카탈로그 크기와 무관)
+ * id 순으로 chunk-size건씩 Keyset 조회하고, 각 조회는 fetchSize=Integer.MIN_VALUE(MySQL 행 단위 스트리밍)로
+ * 읽으면서 바로 응답에 씀. 조회 사이에는 커넥션을 반납하므로 긴 내보내기가 커넥션 풀을 오래 잡지 않고,
+ * 클라이언트가 끊겨도 남은 행을 읽어 버리는 양이 chunk 하나로 제한됨
+ */
+@Service
+public class ProductExportService {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private static final String SELECT_SQL =
+            "SELECT id, name, description, price, stock, image, category FROM products " +
+            "WHERE id > ? ORDER BY id LIMIT ?";
+
+    private static final String SELECT_BY_CATEGORY_SQL =
+            "SELECT id, name, description, price, stock, image, category FROM products " +
+            "WHERE category = ? AND id > ? ORDER BY id LIMIT ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${product.export.chunk-size:50000}")
+    private int chunkSize;
+
+    @Value("${product.export.max-concurrent:2}")
+    private int maxConcurrent;
+
+    private Semaphore permits;
+
+    @PostConstruct
+    public void init() {
+        permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * 동시 내보내기 수 제한 (고객 트래픽용 커넥션/CPU 보호)
+     */
+    public boolean tryAcquire() {
+        return permits.tryAcquire();
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * after 다음 id부터 끝까지 한 줄에 상품 하나씩 기록
+     * 중간에 끊기면 마지막으로 받은 id를 after로 넘겨 이어서 받을 수 있음
+     */
+    public long export(long after, String category, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        long[] lastId = { after };
+        long[] total = { 0 };
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // 최상위 값 사이 기본 구분자(공백)를 끄고 줄바꿈만 사용 (NDJSON)
+            generator.setRootValueSeparator(null);
+
+            while (true) {
+                long chunkStart = lastId[0];
+                int[] rows = { 0 };
+                jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(
+                            category != null ? SELECT_BY_CATEGORY_SQL : SELECT_SQL,
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(Integer.MIN_VALUE);
+                    int index = 1;
+                    if (category != null) {
+                        statement.setString(index++, category);
+                    }
+                    statement.setLong(index++, chunkStart);
+                    statement.setInt(index, chunkSize);
+                    return statement;
+                }, (ResultSet rs) -> {
+                    try {
+                        writeRow(generator, rs);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    lastId[0] = rs.getLong("id");
+                    rows[0]++;
+                });
+
+                generator.flush();
+                total[0] += rows[0];
+                if (rows[0] < chunkSize) {
+                    break;
+                }
+            }
+        } catch (UncheckedIOException e) {
+            // 클라이언트 연결 종료 등 쓰기 실패
+            logger.info("상품 내보내기 중단: after={}, 마지막 id={}, {}건 전송", after, lastId[0], total[0]);
+            throw e.getCause();
+        } finally {
+            meterRegistry.counter("product.export.rows").increment(total[0]);
+        }
+
+        logger.info("상품 내보내기 완료: after={}, category={}, {}건, {}ms",
+                after, category, total[0], System.currentTimeMillis() - start);
+        return total[0];
+    }
+
+    private void writeRow(JsonGenerator generator, ResultSet rs) throws IOException, SQLException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", rs.getLong("id"));
+        generator.writeStringField("name", rs.getString("name"));
+        generator.writeStringField("description", rs.getString("description"));
+        generator.writeNumberField("price", rs.getInt("price"));
+        generator.writeNumberField("stock", rs.getInt("stock"));
+        generator.writeStringField("image", rs.getString("image"));
+        generator.writeStringField("category", rs.getString("category"));
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+}
@@ -0,0 +1,164 @@
+package com.shop.product.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shop.product.Product;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 일괄 등록 입력 스트림을 한 행씩 읽어 Product로 변환 (전체를 메모리에 올리지 않음)
+ * - NDJSON: 한 줄에 JSON 객체 하나 ({"name": ..., "price": ...})
+ * - CSV: 첫 줄은 헤더 (name,description,price,stock,image,category), 큰따옴표 인용 지원
+ * 형식이 잘못된 행은 Row.error로 반환하고 다음 행부터 계속 읽음
+ */
+class ProductImportReader {
+
+    static final String NDJSON = "ndjson";
+    static final String CSV = "csv";
+
+    private final BufferedReader reader;
+    private final String format;
+    private final ObjectMapper objectMapper;
+
+    private Map<String, Integer> columns;
+    private long lineNumber;
+
+    ProductImportReader(BufferedReader reader, String format, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 다음 행 (빈 줄은 건너뜀), 입력 끝이면 null
+     */
+    Row next() throws IOException {
+        if (CSV.equals(format) && columns == null) {
+            readHeader();
+        }
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            long rowLine = lineNumber;
+            try {
+                Product product = CSV.equals(format) ? parseCsv(line) : objectMapper.readValue(line, Product.class);
+                return new Row(rowLine, product, null);
+            } catch (Exception e) {
+                return new Row(rowLine, null, "형식 오류 (" + e.getMessage() + ")");
+            }
+        }
+        return null;
+    }
+
+    private void readHeader() throws IOException {
+        String header = reader.readLine();
+        lineNumber++;
+        if (header == null) {
+            columns = Map.of();
+            return;
+        }
+        // UTF-8 BOM 제거
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        columns = new HashMap<>();
+        List<String> names = splitCsv(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("name")) {
+            throw new IllegalArgumentException("CSV 헤더에 name 컬럼이 필요합니다");
+        }
+    }
+
+    private Product parseCsv(String line) throws IOException {
+        // 인용된 값 안의 줄바꿈은 다음 줄까지 이어서 읽음
+        while (countQuotes(line) % 2 != 0) {
+            String continuation = reader.readLine();
+            if (continuation == null) {
+                throw new IllegalArgumentException("닫히지 않은 큰따옴표");
+            }
+            lineNumber++;
+            line = line + "\n" + continuation;
+        }
+
+        List<String> values = splitCsv(line);
+        Product product = new Product();
+        product.setName(column(values, "name"));
+        product.setDescription(column(values, "description"));
+        product.setImage(column(values, "image"));
+        product.setCategory(column(values, "category"));
+        String price = column(values, "price");
+        String stock = column(values, "stock");
+        product.setPrice(price != null ? Integer.parseInt(price.trim()) : 0);
+        product.setStock(stock != null ? Integer.parseInt(stock.trim()) : 0);
+        return product;
+    }
+
+    private String column(List<String> values, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static int countQuotes(String line) {
+        int count = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * RFC 4180 형식 한 레코드 분리 ("" 는 큰따옴표 하나)
+     */
+    static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    /**
+     * 읽은 행 (product 또는 error 중 하나)
+     */
+    record Row(long line, Product product, String error) {}
+}
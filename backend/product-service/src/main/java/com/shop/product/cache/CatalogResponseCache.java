@@ -0,0 +1,199 @@
+package com.shop.product.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shop.product.Product;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 전체 상품 목록 응답 캐시
+ * 카탈로그는 하루 몇 번만 바뀌므로 JSON 직렬화 결과와 gzip 압축본을 바이트 그대로 보관하고,
+ * 상품 저장 시 Redis 카탈로그 버전을 올려 모든 Pod에서 다시 만들도록 함
+ */
+@Component
+public class CatalogResponseCache {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    public static final String VERSION_KEY = "product:catalog:version";
+
+    // 버전 변경 브로드캐스트 채널
+    public static final String VERSION_CHANNEL = "product:catalog:version";
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Pub/Sub 메시지 유실 대비 안전장치 (로컬 캐시와 같은 최대 유지 시간)
+    @Value("${product.cache.local.ttl-seconds:60}")
+    private long maxAgeSeconds;
+
+    private volatile long knownVersion;
+    private volatile Body current;
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this::onVersionMessage, new ChannelTopic(VERSION_CHANNEL));
+        knownVersion = readVersion();
+    }
+
+    /**
+     * 현재 카탈로그 응답 (버전이 바뀌었거나 오래됐으면 loader로 다시 생성)
+     */
+    public Body get(Supplier<List<Product>> loader) {
+        Body body = current;
+        if (body != null && body.version == knownVersion && !body.isExpired(maxAgeSeconds)) {
+            return body;
+        }
+        return rebuild(loader);
+    }
+
+    /**
+     * 카탈로그 버전 증가 후 다른 Pod에 전파 (상품 저장/일괄 등록 후 호출)
+     */
+    public void bumpVersion() {
+        current = null;
+        try {
+            Long version = stringRedisTemplate.opsForValue().increment(VERSION_KEY);
+            if (version != null) {
+                knownVersion = version;
+                stringRedisTemplate.convertAndSend(VERSION_CHANNEL, version.toString());
+            }
+        } catch (Exception e) {
+            logger.warn("카탈로그 버전 갱신 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 응답 결과 기록 (not_modified / gzip / identity)
+     */
+    public void record(String result) {
+        meterRegistry.counter("product.catalog.response", "result", result).increment();
+    }
+
+    private synchronized Body rebuild(Supplier<List<Product>> loader) {
+        Body body = current;
+        if (body != null && body.version == knownVersion && !body.isExpired(maxAgeSeconds)) {
+            return body;
+        }
+        if (body != null && body.isExpired(maxAgeSeconds)) {
+            // 메시지 유실 시에도 최대 유지 시간마다 Redis 버전을 다시 확인
+            knownVersion = Math.max(knownVersion, readVersion());
+        }
+
+        long version = knownVersion;
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(loader.get());
+            body = new Body(version, json, gzip(json));
+            current = body;
+            logger.info("카탈로그 응답 캐시 생성: version={}, {}bytes (gzip {}bytes)",
+                    version, json.length, body.gzip.length);
+            return body;
+        } catch (IOException e) {
+            throw new IllegalStateException("카탈로그 응답 직렬화 실패", e);
+        }
+    }
+
+    private long readVersion() {
+        try {
+            String version = stringRedisTemplate.opsForValue().get(VERSION_KEY);
+            return version != null ? Long.parseLong(version) : 0L;
+        } catch (Exception e) {
+            logger.warn("카탈로그 버전 조회 실패: {}", e.getMessage());
+            return knownVersion;
+        }
+    }
+
+    private void onVersionMessage(Message message, byte[] pattern) {
+        try {
+            long version = Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8));
+            if (version > knownVersion) {
+                knownVersion = version;
+            }
+        } catch (Exception e) {
+            logger.warn("카탈로그 버전 메시지 처리 실패: {}", e.getMessage());
+            current = null;
+        }
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 직렬화된 응답 본문 (원본 JSON, gzip, ETag)
+     */
+    public static final class Body {
+        private final long version;
+        private final byte[] json;
+        private final byte[] gzip;
+        private final String etag;
+        private final long createdAt = System.currentTimeMillis();
+
+        Body(long version, byte[] json, byte[] gzip) {
+            this.version = version;
+            this.json = json;
+            this.gzip = gzip;
+            // Redis 초기화로 버전이 되돌아가도 내용이 다르면 ETag가 달라지도록 체크섬 포함
+            CRC32 crc = new CRC32();
+            crc.update(json);
+            this.etag = "\"" + version + "-" + Long.toHexString(crc.getValue()) + "\"";
+        }
+
+        boolean isExpired(long maxAgeSeconds) {
+            return System.currentTimeMillis() - createdAt > maxAgeSeconds * 1000;
+        }
+
+        public byte[] getJson() { return json; }
+        public byte[] getGzip() { return gzip; }
+        public String getEtag() { return etag; }
+
+        /**
+         * If-None-Match 헤더 값과 일치 여부 (여러 값, 약한 ETag, * 허용)
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.shop.product.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shop.product.Product;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 상품 카탈로그 2단계 Read-through 캐시 (로컬 Caffeine → Redis → DB)
+ * 상품 저장 시 영향받는 키만 갱신/무효화하고, Pub/Sub으로 모든 Pod의 로컬 캐시에서 제거
+ */
+@Component
+public class ProductCache {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    public static final String CACHE_ALL = "all";
+    public static final String CACHE_ITEM = "item";
+    public static final String CACHE_CATEGORY = "category";
+
+    // 로컬 캐시 무효화 브로드캐스트 채널
+    public static final String INVALIDATION_CHANNEL = "product:cache:invalidation";
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${product.cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Value("${product.cache.local.max-size:10000}")
+    private long localMaxSize;
+
+    // Pub/Sub 메시지 유실 대비 안전장치 (로컬 캐시 최대 유지 시간)
+    @Value("${product.cache.local.ttl-seconds:60}")
+    private long localTtlSeconds;
+
+    private Cache<String, Object> localCache;
+
+    // 같은 키에 대한 동시 미스는 한 번만 DB 로드 (캐시 스탬피드 방지)
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        // Caffeine은 W-TinyLFU 기반으로 최대 크기 초과 시 자주 쓰이는 키를 우선 유지
+        localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(localTtlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "product.local");
+
+        listenerContainer.addMessageListener(this::onInvalidationMessage, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    // Redis 키 생성 메서드들
+    public static String allKey() {
+        return "product:catalog:all";
+    }
+
+    public static String itemKey(Long id) {
+        return "product:item:" + id;
+    }
+
+    public static String categoryKey(String category) {
+        return "product:category:" + category;
+    }
+
+    /**
+     * 캐시 조회 (로컬 → Redis), 미스 시 loader로 로드 후 두 단계 모두 저장
+     * Redis 장애 시에는 loader 결과를 그대로 반환
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String cacheName, String key, Supplier<T> loader) {
+        Object local = localCache.getIfPresent(key);
+        if (local != null) {
+            record(cacheName, "local_hit");
+            return (T) local;
+        }
+
+        Object cached = read(cacheName, key);
+        if (cached != null) {
+            record(cacheName, "hit");
+            localCache.put(key, cached);
+            return (T) cached;
+        }
+        record(cacheName, "miss");
+
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            return (T) existing.join();
+        }
+
+        try {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            T loaded = loader.get();
+            sample.stop(meterRegistry.timer("product.cache.load", "cache", cacheName));
+
+            if (loaded != null) {
+                write(key, loaded);
+                localCache.put(key, loaded);
+            }
+            mine.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * 상품 여러 건 일괄 조회 (로컬 → Redis MGET → DB 한 번)
+     * DB에서 로드한 상품은 파이프라인으로 한 번에 캐시에 저장
+     * @return 상품 ID → 상품 (없는 ID는 포함되지 않음)
+     */
+    public Map<Long, Product> getAll(Collection<Long> ids, Function<List<Long>, List<Product>> loader) {
+        Map<Long, Product> found = new HashMap<>();
+
+        List<Long> remaining = new ArrayList<>();
+        for (Long id : ids) {
+            if (localCache.getIfPresent(itemKey(id)) instanceof Product product) {
+                found.put(id, product);
+                record(CACHE_ITEM, "local_hit");
+            } else {
+                remaining.add(id);
+            }
+        }
+
+        List<Long> missing = new ArrayList<>();
+        if (!remaining.isEmpty()) {
+            List<Object> cached = readAll(remaining.stream().map(ProductCache::itemKey).toList());
+            for (int i = 0; i < remaining.size(); i++) {
+                Object value = cached != null ? cached.get(i) : null;
+                if (value instanceof Product product) {
+                    found.put(remaining.get(i), product);
+                    localCache.put(itemKey(product.getId()), product);
+                    record(CACHE_ITEM, "hit");
+                } else {
+                    missing.add(remaining.get(i));
+                    record(CACHE_ITEM, "miss");
+                }
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            List<Product> loaded = loader.apply(missing);
+            sample.stop(meterRegistry.timer("product.cache.load", "cache", CACHE_ITEM));
+
+            Map<String, Object> entries = new HashMap<>();
+            for (Product product : loaded) {
+                found.put(product.getId(), product);
+                entries.put(itemKey(product.getId()), product);
+            }
+            localCache.putAll(entries);
+            writeAll(entries);
+        }
+        return found;
+    }
+
+    /**
+     * 상품 저장 후 캐시 반영
+     * 단건 키는 새 값으로 갱신, 전체 목록과 (이전/현재) 카테고리 목록 키는 삭제
+     * 이후 다른 Pod에 무효화 메시지를 전파
+     */
+    public void onProductSaved(Product saved, String previousCategory) {
+        List<String> staleKeys = new ArrayList<>();
+        staleKeys.add(allKey());
+        if (saved.getCategory() != null) {
+            staleKeys.add(categoryKey(saved.getCategory()));
+        }
+        if (previousCategory != null && !Objects.equals(previousCategory, saved.getCategory())) {
+            staleKeys.add(categoryKey(previousCategory));
+        }
+
+        try {
+            redisTemplate.delete(staleKeys);
+            write(itemKey(saved.getId()), saved);
+        } catch (Exception e) {
+            logger.error("상품 캐시 무효화 실패: id={}, error={}", saved.getId(), e.getMessage());
+        }
+
+        staleKeys.add(itemKey(saved.getId()));
+        invalidateLocal(staleKeys);
+    }
+
+    /**
+     * 일괄 등록 후 캐시 반영 (전체 목록과 등록된 카테고리 목록 키 삭제)
+     * 신규 상품만 추가되므로 단건 키는 건드리지 않음
+     */
+    public void onBulkImported(Collection<String> categories) {
+        List<String> staleKeys = new ArrayList<>();
+        staleKeys.add(allKey());
+        categories.forEach(category -> staleKeys.add(categoryKey(category)));
+
+        try {
+            redisTemplate.delete(staleKeys);
+        } catch (Exception e) {
+            logger.error("상품 캐시 무효화 실패: keys={}, error={}", staleKeys.size(), e.getMessage());
+        }
+        invalidateLocal(staleKeys);
+    }
+
+    /**
+     * 상품 단건 캐시 제거 (재고 변경 등 목록 캐시까지 비울 필요 없는 변경용)
+     * 목록 캐시의 재고 값은 TTL 범위 내에서 늦게 반영됨
+     */
+    public void evictItem(Long id) {
+        try {
+            redisTemplate.delete(itemKey(id));
+        } catch (Exception e) {
+            logger.warn("상품 캐시 삭제 실패: id={}, error={}", id, e.getMessage());
+        }
+        invalidateLocal(List.of(itemKey(id)));
+    }
+
+    /**
+     * 로컬 캐시에서 키 제거 후 다른 Pod에도 전파
+     */
+    public void invalidateLocal(List<String> keys) {
+        localCache.invalidateAll(keys);
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, new ArrayList<>(keys));
+        } catch (Exception e) {
+            logger.warn("로컬 캐시 무효화 전파 실패: keys={}, error={}", keys, e.getMessage());
+        }
+    }
+
+    private void onInvalidationMessage(Message message, byte[] pattern) {
+        try {
+            Object keys = redisTemplate.getValueSerializer().deserialize(message.getBody());
+            if (keys instanceof Collection<?> collection) {
+                collection.forEach(key -> localCache.invalidate(key.toString()));
+            }
+        } catch (Exception e) {
+            // 메시지를 해석할 수 없으면 안전하게 전체 제거
+            logger.warn("캐시 무효화 메시지 처리 실패, 로컬 캐시 전체 제거: {}", e.getMessage());
+            localCache.invalidateAll();
+        }
+    }
+
+    private Object read(String cacheName, String key) {
+        try {
+            return redisTemplate.opsForValue().get(key);
+        } catch (Exception e) {
+            logger.warn("상품 캐시 조회 실패, DB로 대체: key={}, error={}", key, e.getMessage());
+            record(cacheName, "error");
+            return null;
+        }
+    }
+
+    private List<Object> readAll(List<String> keys) {
+        try {
+            return redisTemplate.opsForValue().multiGet(keys);
+        } catch (Exception e) {
+            logger.warn("상품 캐시 일괄 조회 실패, DB로 대체: keys={}, error={}", keys.size(), e.getMessage());
+            record(CACHE_ITEM, "error");
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeAll(Map<String, Object> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    entries.forEach((key, value) ->
+                            operations.opsForValue().set((K) key, (V) value, ttlSeconds, TimeUnit.SECONDS));
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            logger.warn("상품 캐시 일괄 저장 실패: keys={}, error={}", entries.size(), e.getMessage());
+        }
+    }
+
+    private void write(String key, Object value) {
+        try {
+            redisTemplate.opsForValue().set(key, value, ttlSeconds, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            logger.warn("상품 캐시 저장 실패: key={}, error={}", key, e.getMessage());
+        }
+    }
+
+    private void record(String cacheName, String result) {
+        meterRegistry.counter("product.cache.requests", "cache", cacheName, "result", result).increment();
+    }
+}
@@ -0,0 +1,89 @@
+package com.shop.product.feed;
+
+import com.shop.product.Product;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 상품 변경 로그 (seq 오름차순으로 읽으면 변경 순서대로 동기화 가능)
+ * 변경 시점의 상품 값을 함께 저장하여 소비자가 상품을 다시 조회하지 않아도 되게 함
+ */
+@Entity
+@Table(name = "product_changes", indexes = {
+    // 보관 기간 정리용
+    @Index(name = "idx_product_changes_changed_at", columnList = "changed_at")
+})
+public class ProductChange {
+    public static final String INSERT = "INSERT";
+    public static final String UPDATE = "UPDATE";
+    // 일괄 등록처럼 건별 로그를 남기지 않은 변경 (소비자는 전체 재동기화)
+    public static final String RESYNC = "RESYNC";
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+    
+    private Long productId;
+    private String changeType;
+    private String name;
+    private String description;
+    private Integer price;
+    private Integer stock;
+    private String image;
+    private String category;
+    private LocalDateTime changedAt;
+    
+    public ProductChange() {}
+    
+    public static ProductChange of(Product product, String changeType) {
+        ProductChange change = new ProductChange();
+        change.productId = product.getId();
+        change.changeType = changeType;
+        change.name = product.getName();
+        change.description = product.getDescription();
+        change.price = product.getPrice();
+        change.stock = product.getStock();
+        change.image = product.getImage();
+        change.category = product.getCategory();
+        change.changedAt = LocalDateTime.now();
+        return change;
+    }
+    
+    public static ProductChange resync() {
+        ProductChange change = new ProductChange();
+        change.changeType = RESYNC;
+        change.changedAt = LocalDateTime.now();
+        return change;
+    }
+    
+    // Getters and Setters
+    public Long getSeq() { return seq; }
+    public void setSeq(Long seq) { this.seq = seq; }
+    
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+    
+    public String getChangeType() { return changeType; }
+    public void setChangeType(String changeType) { this.changeType = changeType; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    
+    public Integer getPrice() { return price; }
+    public void setPrice(Integer price) { this.price = price; }
+    
+    public Integer getStock() { return stock; }
+    public void setStock(Integer stock) { this.stock = stock; }
+    
+    public String getImage() { return image; }
+    public void setImage(String image) { this.image = image; }
+    
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    
+    public LocalDateTime getChangedAt() { return changedAt; }
+    public void setChangedAt(LocalDateTime changedAt) { this.changedAt = changedAt; }
+}
@@ -0,0 +1,63 @@
+package com.shop.product.feed;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * 상품 변경 피드 API
+ * 새 소비자는 GET /api/products/changes/head의 headSeq를 받은 뒤 전체 목록을 동기화하고,
+ * since=headSeq부터 시작해서 응답의 nextSince로 이어서 조회
+ */
+@RestController
+@RequestMapping("/api/products")
+@CrossOrigin(origins = "${CORS_ALLOWED_ORIGINS}")
+public class ProductChangeController {
+    
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    
+    @Autowired
+    private ProductChangeFeed changeFeed;
+    
+    /**
+     * 변경 조회
+     * 응답: {"changes": [...], "nextSince": 123, "hasMore": false, "headSeq": 130}
+     * since가 보관 기간 밖이면 410 + headSeq (전체 목록 재동기화 후 since=headSeq부터 다시 조회)
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<?> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(changeFeed.getChanges(since, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.GONE).body(Map.of(
+                    "message", e.getMessage(),
+                    "headSeq", changeFeed.getHeadSeq()));
+        } catch (Exception e) {
+            logger.error("상품 변경 조회 실패: since={}, error={}", since, e.getMessage());
+            return ResponseEntity.internalServerError().body(Map.of("message", "서버 오류"));
+        }
+    }
+    
+    /**
+     * 소비자 시작 위치 조회
+     * 응답: {"headSeq": 130}
+     */
+    @GetMapping("/changes/head")
+    public ResponseEntity<?> getHead() {
+        try {
+            return ResponseEntity.ok(Map.of("headSeq", changeFeed.getHeadSeq()));
+        } catch (Exception e) {
+            logger.error("상품 변경 시작 위치 조회 실패: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body(Map.of("message", "서버 오류"));
+        }
+    }
+}
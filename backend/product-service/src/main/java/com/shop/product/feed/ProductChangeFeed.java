@@ -0,0 +1,172 @@
+package com.shop.product.feed;
+
+import com.shop.product.Product;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 상품 변경 피드
+ * 변경 로그는 상품 저장과 같은 트랜잭션에서 기록하고, 소비자는 seq 기준으로 이어서 조회
+ * (선택) 커밋 후 Redis Stream에도 발행하여 폴링 없이 구독 가능
+ *
+ * seq는 INSERT 시점에 발급되고 커밋 순서는 다를 수 있으므로 두 단계로 늦게 커밋된 변경을 기다림
+ * - settle-ms: 기록된 지 이 시간이 안 된 변경은 노출하지 않음
+ * - gap-wait-ms: 앞 번호가 비어 있는 변경은 기록된 지 이 시간이 지날 때까지 그 앞에서 페이지를 끊음
+ *   (빈 번호는 아직 커밋되지 않았거나 롤백된 트랜잭션)
+ * 한계: 번호 발급 후 gap-wait-ms보다 늦게 커밋되는 변경, 또는 Pod 간 시계 차이가 그보다 크면 건너뛸 수 있음
+ * (changedAt은 기록한 Pod의 JVM 시계 기준). 소비자는 resync 항목이나 주기적인 전체 동기화로 보정
+ */
+@Service
+public class ProductChangeFeed {
+    
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    
+    public static final String STREAM_KEY = "product:changes";
+    
+    @Autowired
+    private ProductChangeRepository changeRepository;
+    
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+    
+    @Value("${product.changes.default-limit:100}")
+    private int defaultLimit;
+    
+    @Value("${product.changes.max-limit:1000}")
+    private int maxLimit;
+    
+    // seq는 INSERT 시점에 발급되지만 커밋 순서는 다를 수 있으므로, 최근 변경은 잠시 뒤에 노출
+    @Value("${product.changes.settle-ms:2000}")
+    private long settleMillis;
+    
+    @Value("${product.changes.gap-wait-ms:60000}")
+    private long gapWaitMillis;
+    
+    @Value("${product.changes.retention-days:30}")
+    private int retentionDays;
+    
+    @Value("${product.changes.stream.enabled:false}")
+    private boolean streamEnabled;
+    
+    @Value("${product.changes.stream.max-length:100000}")
+    private long streamMaxLength;
+    
+    /**
+     * 변경 기록 (호출 측 트랜잭션에 참여)
+     */
+    public ProductChange record(Product product, String changeType) {
+        return changeRepository.save(ProductChange.of(product, changeType));
+    }
+    
+    /**
+     * 건별로 기록하지 않은 대량 변경 후 전체 재동기화 표시
+     */
+    @Transactional
+    public ProductChange recordResync() {
+        return changeRepository.save(ProductChange.resync());
+    }
+    
+    /**
+     * 새로 시작하거나 재동기화할 소비자의 시작 위치
+     * 이 seq를 먼저 받은 뒤 전체 목록을 동기화하고, since=이 seq부터 조회하면 빠지는 변경이 없음
+     * (gap-wait-ms 이전에 기록된 변경 중 가장 큰 seq, 변경이 없으면 0)
+     */
+    public long getHeadSeq() {
+        Long head = changeRepository.findLatestSeqBefore(LocalDateTime.now().minusNanos(gapWaitMillis * 1_000_000));
+        return head == null ? 0 : head;
+    }
+    
+    /**
+     * since 이후 변경 페이지 (응답에 현재 headSeq 포함)
+     * since가 보관 기간 밖이면 IllegalStateException (소비자는 headSeq 기준으로 전체 목록 재동기화)
+     */
+    public Map<String, Object> getChanges(long since, Integer limit) {
+        int size = limit == null ? defaultLimit : limit;
+        if (size < 1 || size > maxLimit) {
+            throw new IllegalArgumentException("limit은 1 이상 " + maxLimit + " 이하여야 합니다");
+        }
+        
+        Long oldest = changeRepository.findOldestSeq();
+        if (oldest != null && since < oldest - 1) {
+            throw new IllegalStateException("보관 기간이 지난 변경 위치입니다. 전체 목록으로 다시 동기화하세요");
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<ProductChange> changes = changeRepository.findChangesAfter(since,
+                now.minusNanos(settleMillis * 1_000_000), PageRequest.of(0, size + 1));
+        
+        // 최근 변경 앞에 빈 번호가 있으면 늦게 커밋될 수 있으므로 그 앞까지만 반환
+        LocalDateTime gapCutoff = now.minusNanos(gapWaitMillis * 1_000_000);
+        long previous = since;
+        int end = 0;
+        while (end < changes.size()) {
+            ProductChange change = changes.get(end);
+            if (change.getSeq() != previous + 1 && change.getChangedAt().isAfter(gapCutoff)) {
+                break;
+            }
+            previous = change.getSeq();
+            end++;
+        }
+        boolean waitingForGap = end < changes.size();
+        
+        boolean hasMore = !waitingForGap && changes.size() > size;
+        changes = changes.subList(0, Math.min(end, size));
+        
+        Map<String, Object> page = new HashMap<>();
+        page.put("changes", changes);
+        page.put("hasMore", hasMore);
+        page.put("headSeq", getHeadSeq());
+        page.put("nextSince", changes.isEmpty() ? since : changes.get(changes.size() - 1).getSeq());
+        return page;
+    }
+    
+    /**
+     * Redis Stream 발행 (커밋 후 호출, 실패해도 DB 변경 로그로 복구 가능하므로 경고만)
+     */
+    public void publish(ProductChange change) {
+        if (!streamEnabled) {
+            return;
+        }
+        try {
+            Map<String, String> fields = new HashMap<>();
+            fields.put("seq", String.valueOf(change.getSeq()));
+            fields.put("changeType", change.getChangeType());
+            if (change.getProductId() != null) {
+                fields.put("productId", String.valueOf(change.getProductId()));
+            }
+            stringRedisTemplate.opsForStream().add(StreamRecords.string(fields).withStreamKey(STREAM_KEY));
+            stringRedisTemplate.opsForStream().trim(STREAM_KEY, streamMaxLength, true);
+        } catch (Exception e) {
+            logger.warn("상품 변경 Stream 발행 실패: seq={}, error={}", change.getSeq(), e.getMessage());
+        }
+    }
+    
+    /**
+     * 보관 기간이 지난 변경 로그 삭제 (매일 새벽)
+     */
+    @Scheduled(cron = "${product.changes.purge-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        try {
+            int deleted = changeRepository.deleteOlderThan(LocalDateTime.now().minusDays(retentionDays));
+            if (deleted > 0) {
+                logger.info("보관 기간이 지난 상품 변경 로그 삭제: {}건", deleted);
+            }
+        } catch (Exception e) {
+            logger.error("상품 변경 로그 정리 실패: {}", e.getMessage(), e);
+        }
+    }
+}
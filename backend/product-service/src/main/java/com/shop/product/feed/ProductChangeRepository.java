@@ -0,0 +1,30 @@
+package com.shop.product.feed;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ProductChangeRepository extends JpaRepository<ProductChange, Long> {
+    
+    /**
+     * since 이후 변경 (아직 커밋되지 않았을 수 있는 최근 변경은 before로 제외)
+     */
+    @Query("SELECT c FROM ProductChange c WHERE c.seq > ?1 AND c.changedAt <= ?2 ORDER BY c.seq")
+    List<ProductChange> findChangesAfter(Long since, LocalDateTime before, Pageable pageable);
+    
+    /**
+     * before 이전에 기록된 변경 중 가장 큰 seq (스냅샷 기준점)
+     */
+    @Query("SELECT MAX(c.seq) FROM ProductChange c WHERE c.changedAt <= ?1")
+    Long findLatestSeqBefore(LocalDateTime before);
+    
+    @Query("SELECT MIN(c.seq) FROM ProductChange c")
+    Long findOldestSeq();
+    
+    @Modifying
+    @Query("DELETE FROM ProductChange c WHERE c.changedAt < ?1")
+    int deleteOlderThan(LocalDateTime cutoff);
+}
@@ -0,0 +1,29 @@
+package com.shop.product.related;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * 함께 구매한 상품 API
+ * 응답: {"productId": 1, "items": [{"count": 12, "product": {...}}, ...]}
+ */
+@RestController
+@RequestMapping("/api/products")
+@CrossOrigin(origins = "${CORS_ALLOWED_ORIGINS}")
+public class RelatedProductController {
+
+    @Autowired
+    private RelatedProductService relatedProductService;
+
+    @GetMapping("/{id}/related")
+    public ResponseEntity<?> getRelated(@PathVariable Long id, @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(relatedProductService.getRelated(id, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "서버 오류"));
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.shop.product.related;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shop.product.Product;
+import com.shop.product.ProductRepository;
+import com.shop.product.cache.ProductCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 함께 구매한 상품 (동시 구매 행렬)
+ * - cart-service가 결제 완료 장바구니를 Redis Stream(product:baskets)에 발행
+ * - Consumer Group으로 장바구니 하나를 한 Pod만 처리하여, 장바구니 안의 상품 쌍마다 동시 구매 횟수 +1
+ *   (상품별 Sorted Set이 희소 행렬의 한 행: product:related:{id} → {함께 산 상품 ID: 횟수})
+ * - 행은 상위 max-neighbors개만 유지하고, 조회는 상위 k개를 로컬 캐시에서 응답
+ *
+ * 장바구니는 하나씩 반영 후 바로 ack하고, 반영에 실패하면 ack하지 않고 다음 주기에 이 consumer의
+ * 미처리(pending) 항목부터 다시 처리 (max-attempts번 실패하면 건너뜀)
+ * 처리 도중 Pod가 사라져 consumer 이름이 바뀌면 그 Pod의 미처리 항목은 다시 처리하지 않음 (추천용 근사치라 허용)
+ */
+@Service
+public class RelatedProductService {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    public static final String STREAM_KEY = "product:baskets";
+    public static final String CONSUMER_GROUP = "related-products";
+
+    // KEYS[i]=장바구니 i번째 상품의 행, ARGV[1]=행 최대 크기, ARGV[i+1]=i번째 상품 ID
+    // 행이 최대 크기의 2배를 넘을 때만 잘라서 ZREMRANGEBYRANK 횟수를 줄임
+    private static final RedisScript<Long> UPDATE_SCRIPT = new DefaultRedisScript<>(
+            "local maxRow = tonumber(ARGV[1]) " +
+            "for i = 1, #KEYS do " +
+            "  for j = 2, #ARGV do " +
+            "    if j - 1 ~= i then redis.call('ZINCRBY', KEYS[i], 1, ARGV[j]) end " +
+            "  end " +
+            "  if redis.call('ZCARD', KEYS[i]) > maxRow * 2 then " +
+            "    redis.call('ZREMRANGEBYRANK', KEYS[i], 0, -maxRow - 1) " +
+            "  end " +
+            "end " +
+            "return #KEYS", Long.class);
+
+    private record Neighbor(Long productId, long count) {}
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${product.related.enabled:true}")
+    private boolean enabled;
+
+    // 상품 쌍 수가 제곱으로 늘어나므로 큰 장바구니는 앞쪽 상품만 반영
+    @Value("${product.related.max-basket-items:20}")
+    private int maxBasketItems;
+
+    @Value("${product.related.max-neighbors:200}")
+    private int maxNeighbors;
+
+    @Value("${product.related.top-k:20}")
+    private int topK;
+
+    @Value("${product.related.poll-batch-size:100}")
+    private int pollBatchSize;
+
+    // 같은 장바구니 반영을 시도하는 최대 횟수 (Stream 전달 횟수 기준)
+    @Value("${product.related.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${product.related.local.max-size:10000}")
+    private long localMaxSize;
+
+    @Value("${product.related.local.ttl-seconds:300}")
+    private long localTtlSeconds;
+
+    // Pod 재시작 시에도 같은 이름을 쓰도록 HOSTNAME 우선
+    private final String consumerName = System.getenv().getOrDefault("HOSTNAME", UUID.randomUUID().toString());
+
+    private Cache<Long, List<Neighbor>> neighborCache;
+
+    private volatile boolean groupReady;
+
+    @PostConstruct
+    public void init() {
+        neighborCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(localTtlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, neighborCache, "product.related");
+    }
+
+    // Redis 키 생성 메서드
+    private static String getRowKey(Long productId) {
+        return "product:related:" + productId;
+    }
+
+    /**
+     * 함께 구매한 상품 조회 (동시 구매 횟수 내림차순, 삭제된 상품 제외)
+     */
+    public Map<String, Object> getRelated(Long productId, Integer limit) {
+        int size = limit == null ? topK : Math.max(1, Math.min(limit, topK));
+        List<Neighbor> neighbors = neighborCache.get(productId, this::loadNeighbors);
+
+        List<Neighbor> selected = neighbors.subList(0, Math.min(size, neighbors.size()));
+        List<Long> ids = new ArrayList<>(selected.size());
+        for (Neighbor neighbor : selected) {
+            ids.add(neighbor.productId());
+        }
+        Map<Long, Product> products = productCache.getAll(ids, productRepository::findAllById);
+
+        List<Map<String, Object>> items = new ArrayList<>(selected.size());
+        for (Neighbor neighbor : selected) {
+            Product product = products.get(neighbor.productId());
+            if (product == null) {
+                continue;
+            }
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("count", neighbor.count());
+            item.put("product", product);
+            items.add(item);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("productId", productId);
+        result.put("items", items);
+        return result;
+    }
+
+    private List<Neighbor> loadNeighbors(Long productId) {
+        try {
+            Set<ZSetOperations.TypedTuple<String>> row =
+                    stringRedisTemplate.opsForZSet().reverseRangeWithScores(getRowKey(productId), 0, topK - 1);
+            if (row == null || row.isEmpty()) {
+                return List.of();
+            }
+            List<Neighbor> neighbors = new ArrayList<>(row.size());
+            for (ZSetOperations.TypedTuple<String> tuple : row) {
+                neighbors.add(new Neighbor(Long.valueOf(tuple.getValue()), tuple.getScore().longValue()));
+            }
+            return neighbors;
+        } catch (Exception e) {
+            logger.warn("함께 구매한 상품 조회 실패: id={}, error={}", productId, e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * 새 장바구니를 읽어 동시 구매 행렬에 반영
+     * 이전 주기에 실패해 ack하지 못한 장바구니(이 consumer의 pending)부터 처리
+     */
+    @Scheduled(fixedDelayString = "${product.related.poll-ms:1000}")
+    public void poll() {
+        if (!enabled || !ensureGroup()) {
+            return;
+        }
+        try {
+            if (process(ReadOffset.from("0"))) {
+                process(ReadOffset.lastConsumed());
+            }
+        } catch (Exception e) {
+            logger.warn("구매 장바구니 처리 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * offset부터 읽은 장바구니를 하나씩 반영하고 바로 ack
+     * @return 실패 없이 끝까지 처리했으면 true, 재시도할 장바구니가 남았으면 false
+     */
+    private boolean process(ReadOffset offset) {
+        List<MapRecord<String, Object, Object>> records;
+        do {
+            records = stringRedisTemplate.opsForStream().read(
+                    Consumer.from(CONSUMER_GROUP, consumerName),
+                    StreamReadOptions.empty().count(pollBatchSize),
+                    StreamOffset.create(STREAM_KEY, offset));
+            if (records == null || records.isEmpty()) {
+                return true;
+            }
+
+            for (MapRecord<String, Object, Object> record : records) {
+                try {
+                    // Stream 길이 제한으로 잘린 pending 항목은 본문 없이 전달됨
+                    apply(record.getValue() != null ? record.getValue().get("productIds") : null);
+                    meterRegistry.counter("product.related.baskets").increment();
+                } catch (Exception e) {
+                    long deliveries = deliveryCount(record.getId());
+                    if (deliveries < maxAttempts) {
+                        logger.warn("구매 장바구니 반영 실패, 다음 주기에 재시도: id={}, 시도 {}회, error={}",
+                                record.getId(), deliveries, e.getMessage());
+                        return false;
+                    }
+                    logger.error("구매 장바구니 반영 {}회 실패로 건너뜀: id={}, error={}",
+                            deliveries, record.getId(), e.getMessage());
+                    meterRegistry.counter("product.related.baskets.dropped").increment();
+                }
+                stringRedisTemplate.opsForStream().acknowledge(STREAM_KEY, CONSUMER_GROUP, record.getId());
+            }
+        } while (records.size() >= pollBatchSize);
+        return true;
+    }
+
+    private long deliveryCount(RecordId id) {
+        PendingMessages pending = stringRedisTemplate.opsForStream().pending(STREAM_KEY,
+                Consumer.from(CONSUMER_GROUP, consumerName), Range.closed(id.getValue(), id.getValue()), 1L);
+        return pending.isEmpty() ? 0 : pending.get(0).getTotalDeliveryCount();
+    }
+
+    /**
+     * 장바구니 하나 반영 (상품 쌍 갱신을 스크립트 한 번으로 원자적으로 처리)
+     */
+    private void apply(Object productIds) {
+        if (productIds == null) {
+            return;
+        }
+        Set<Long> ids = new LinkedHashSet<>();
+        for (String id : productIds.toString().split(",")) {
+            if (ids.size() >= maxBasketItems) {
+                break;
+            }
+            try {
+                ids.add(Long.valueOf(id.trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("잘못된 장바구니 상품 ID 무시: {}", id);
+            }
+        }
+        if (ids.size() < 2) {
+            return;
+        }
+
+        List<String> keys = new ArrayList<>(ids.size());
+        List<String> args = new ArrayList<>(ids.size() + 1);
+        args.add(String.valueOf(maxNeighbors));
+        for (Long id : ids) {
+            keys.add(getRowKey(id));
+            args.add(id.toString());
+        }
+        stringRedisTemplate.execute(UPDATE_SCRIPT, keys, args.toArray());
+
+        // 이 Pod의 캐시는 바로 갱신, 다른 Pod는 로컬 캐시 만료 후 반영
+        neighborCache.invalidateAll(ids);
+    }
+
+    /**
+     * Consumer Group 생성 (이미 있으면 그대로 사용, Stream이 없으면 함께 생성)
+     */
+    private boolean ensureGroup() {
+        if (groupReady) {
+            return true;
+        }
+        try {
+            stringRedisTemplate.opsForStream().createGroup(STREAM_KEY, ReadOffset.from("0"), CONSUMER_GROUP);
+            logger.info("구매 장바구니 Consumer Group 생성: stream={}, group={}", STREAM_KEY, CONSUMER_GROUP);
+        } catch (Exception e) {
+            String message = String.valueOf(e.getMessage()) + (e.getCause() != null ? e.getCause().getMessage() : "");
+            if (!message.contains("BUSYGROUP")) {
+                logger.warn("구매 장바구니 Consumer Group 생성 실패: {}", e.getMessage());
+                return false;
+            }
+        }
+        groupReady = true;
+        return true;
+    }
+}
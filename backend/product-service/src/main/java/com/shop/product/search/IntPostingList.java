@@ -0,0 +1,45 @@
+package com.shop.product.search;
+
+import java.util.Arrays;
+
+/**
+ * 문서 ID 오름차순 posting list (박싱 없는 int 배열)
+ * 문서 ID는 색인 순서대로 증가하므로 append만으로 정렬이 유지됨
+ */
+final class IntPostingList {
+
+    private int[] docs = new int[4];
+    private int[] weights = new int[4];
+    private int size;
+
+    void add(int doc, int weight) {
+        if (size == docs.length) {
+            int capacity = size + (size >> 1) + 1;
+            docs = Arrays.copyOf(docs, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+        }
+        docs[size] = doc;
+        weights[size] = weight;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int doc(int i) {
+        return docs[i];
+    }
+
+    int weight(int i) {
+        return weights[i];
+    }
+
+    /**
+     * doc 이상인 첫 위치 (from부터 이진 탐색)
+     */
+    int advance(int from, int doc) {
+        int idx = Arrays.binarySearch(docs, from, size, doc);
+        return idx >= 0 ? idx : -idx - 1;
+    }
+}
@@ -0,0 +1,97 @@
+package com.shop.product.search;
+
+import java.util.Arrays;
+
+/**
+ * 패싯 색인용 비트맵 (long 배열)
+ * java.util.BitSet에는 복사 없이 교집합 개수를 세는 연산이 없어서 별도 구현
+ */
+final class LongBitSet {
+
+    private long[] words;
+
+    LongBitSet(int capacity) {
+        words = new long[Math.max(1, (capacity + 63) >>> 6)];
+    }
+
+    private LongBitSet(long[] words) {
+        this.words = words;
+    }
+
+    void set(int index) {
+        int word = index >>> 6;
+        if (word >= words.length) {
+            words = Arrays.copyOf(words, Math.max(word + 1, words.length + (words.length >> 1)));
+        }
+        words[word] |= 1L << index;
+    }
+
+    boolean get(int index) {
+        int word = index >>> 6;
+        return word < words.length && (words[word] & (1L << index)) != 0;
+    }
+
+    void clear(int index) {
+        int word = index >>> 6;
+        if (word < words.length) {
+            words[word] &= ~(1L << index);
+        }
+    }
+
+    int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * this ∩ mask 개수 (mask가 null이면 전체 개수)
+     */
+    int andCardinality(LongBitSet mask) {
+        if (mask == null) {
+            return cardinality();
+        }
+        int length = Math.min(words.length, mask.words.length);
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            count += Long.bitCount(words[i] & mask.words[i]);
+        }
+        return count;
+    }
+
+    /**
+     * this ∪= other
+     */
+    void or(LongBitSet other) {
+        if (other.words.length > words.length) {
+            words = Arrays.copyOf(words, other.words.length);
+        }
+        for (int i = 0; i < other.words.length; i++) {
+            words[i] |= other.words[i];
+        }
+    }
+
+    /**
+     * null이 아닌 비트맵들의 교집합 (모두 null이면 null = 필터 없음)
+     */
+    static LongBitSet and(LongBitSet... sets) {
+        LongBitSet result = null;
+        for (LongBitSet set : sets) {
+            if (set == null) {
+                continue;
+            }
+            if (result == null) {
+                result = new LongBitSet(set.words.clone());
+                continue;
+            }
+            int length = Math.min(result.words.length, set.words.length);
+            for (int i = 0; i < length; i++) {
+                result.words[i] &= set.words[i];
+            }
+            Arrays.fill(result.words, length, result.words.length, 0L);
+        }
+        return result;
+    }
+}
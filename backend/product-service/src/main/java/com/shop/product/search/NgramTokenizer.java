@@ -0,0 +1,85 @@
+package com.shop.product.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 한글 친화적인 문자 n-gram 토크나이저
+ * 한글은 형태소 분석 없이도 음절 bigram으로 부분 일치 검색이 잘 되므로
+ * 단어마다 음절 unigram + bigram을 만들어 int 코드로 인코딩
+ */
+public final class NgramTokenizer {
+
+    private NgramTokenizer() {}
+
+    /**
+     * 정규화: NFKC(전각/호환 문자 통일) + 소문자, 문자/숫자 외에는 공백으로 치환
+     */
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            sb.append(Character.isLetterOrDigit(c) ? c : ' ');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 정규화된 텍스트를 공백 기준 단어로 분리
+     */
+    public static List<String> words(String normalized) {
+        List<String> words = new ArrayList<>();
+        for (String word : normalized.split(" ")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * 색인용 gram: 단어의 모든 unigram과 bigram (중복 포함)
+     */
+    public static int[] indexGrams(String word) {
+        int n = word.length();
+        int[] grams = new int[n + Math.max(0, n - 1)];
+        int idx = 0;
+        for (int i = 0; i < n; i++) {
+            grams[idx++] = unigram(word.charAt(i));
+            if (i + 1 < n) {
+                grams[idx++] = bigram(word.charAt(i), word.charAt(i + 1));
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * 질의용 gram: 한 글자 단어는 unigram, 그 외는 bigram (중복 제거)
+     */
+    public static int[] queryGrams(String word) {
+        if (word.length() == 1) {
+            return new int[] { unigram(word.charAt(0)) };
+        }
+        int[] grams = new int[word.length() - 1];
+        for (int i = 0; i + 1 < word.length(); i++) {
+            grams[i] = bigram(word.charAt(i), word.charAt(i + 1));
+        }
+        return Arrays.stream(grams).distinct().toArray();
+    }
+
+    // 문자/숫자는 0이 될 수 없으므로 unigram과 bigram 코드가 겹치지 않음
+    private static int unigram(char c) {
+        return c;
+    }
+
+    private static int bigram(char first, char second) {
+        return (first << 16) | second;
+    }
+}
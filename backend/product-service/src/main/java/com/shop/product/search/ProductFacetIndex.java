@@ -0,0 +1,289 @@
+package com.shop.product.search;
+
+import com.shop.product.Product;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 카테고리/가격대/재고 패싯 집계 (GROUP BY 대신 메모리 카운터 + 비트맵)
+ * - 상품마다 고정 슬롯을 두고 카테고리별, 가격 구간별, 재고 있음 비트맵에 슬롯 비트를 설정
+ * - 필터가 없는 집계는 int 카운터로 바로 응답, 필터 조합은 비트맵 교집합 개수로 계산
+ * - 각 패싯의 개수는 자기 자신을 제외한 나머지 필터를 적용한 값 (다중 선택 필터 UI용)
+ */
+@Component
+public class ProductFacetIndex {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    // 가격 구간 경계 (예: 10000,30000 → 0~9999, 10000~29999, 30000 이상)
+    @Value("${product.facets.price-buckets:10000,30000,50000,100000}")
+    private int[] priceBounds;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 슬롯별 상품 속성
+    private Map<Long, Integer> slotByProductId = new HashMap<>();
+    private int[] categoryOrds = new int[16];
+    private int[] bucketOrds = new int[16];
+    private int slotCount;
+
+    // 카테고리 이름 ↔ 번호
+    private Map<String, Integer> categoryOrdByName = new HashMap<>();
+    private List<String> categoryNames = new ArrayList<>();
+
+    // 비트맵과 카운터 (번호별)
+    private List<LongBitSet> categoryBits = new ArrayList<>();
+    private int[] categoryCounts = new int[8];
+    private LongBitSet[] bucketBits;
+    private int[] bucketCounts;
+    private LongBitSet inStockBits;
+    private int inStockCount;
+
+    // 최초 집계 전에 저장된 상품은 집계 완료 후 반영
+    private boolean ready;
+    private final List<Product> pending = new ArrayList<>();
+
+    @PostConstruct
+    public void init() {
+        priceBounds = Arrays.stream(priceBounds).sorted().distinct().toArray();
+        reset(16);
+    }
+
+    /**
+     * 전체 재집계
+     */
+    public void rebuild(Collection<Product> products) {
+        lock.writeLock().lock();
+        try {
+            reset(products.size());
+            for (Product product : products) {
+                upsert(product);
+            }
+            ready = true;
+            pending.forEach(this::upsert);
+            pending.clear();
+            logger.info("상품 패싯 집계 완료: 상품 {}개, 카테고리 {}개", slotCount, categoryNames.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 상품 1건 반영 (신규 또는 수정)
+     */
+    public void index(Product product) {
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!ready) {
+                pending.add(product);
+                return;
+            }
+            upsert(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 재고 있음/없음 변경
+     * @return 상태가 바뀌었으면 true (다른 Pod 전파 여부 판단용)
+     */
+    public boolean updateInStock(Long productId, boolean inStock) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotByProductId.get(productId);
+            return slot != null && setInStock(slot, inStock);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 패싯 집계
+     * @param category 카테고리 필터 (null이면 전체)
+     * @param priceBuckets 가격 구간 번호 필터 (비어 있으면 전체, 여러 개면 합집합)
+     * @param inStockOnly 재고 있는 상품만
+     */
+    public Map<String, Object> facets(String category, Collection<Integer> priceBuckets, boolean inStockOnly) {
+        lock.readLock().lock();
+        try {
+            LongBitSet categoryMask = null;
+            if (category != null) {
+                Integer ord = categoryOrdByName.get(category);
+                categoryMask = ord != null ? categoryBits.get(ord) : new LongBitSet(0);
+            }
+
+            LongBitSet priceMask = null;
+            if (priceBuckets != null && !priceBuckets.isEmpty()) {
+                priceMask = new LongBitSet(slotCount);
+                for (Integer bucket : priceBuckets) {
+                    if (bucket == null || bucket < 0 || bucket >= bucketBits.length) {
+                        throw new IllegalArgumentException("잘못된 가격 구간입니다: " + bucket);
+                    }
+                    priceMask.or(bucketBits[bucket]);
+                }
+            }
+
+            LongBitSet stockMask = inStockOnly ? inStockBits : null;
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("total", countMatching(categoryMask, priceMask, stockMask));
+            result.put("categories", categoryFacet(LongBitSet.and(priceMask, stockMask)));
+            result.put("priceBuckets", priceFacet(LongBitSet.and(categoryMask, stockMask)));
+            LongBitSet otherThanStock = LongBitSet.and(categoryMask, priceMask);
+            result.put("inStock", otherThanStock == null ? inStockCount : inStockBits.andCardinality(otherThanStock));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int countMatching(LongBitSet categoryMask, LongBitSet priceMask, LongBitSet stockMask) {
+        LongBitSet all = LongBitSet.and(categoryMask, priceMask, stockMask);
+        return all == null ? slotCount : all.cardinality();
+    }
+
+    private List<Map<String, Object>> categoryFacet(LongBitSet mask) {
+        List<Map<String, Object>> facets = new ArrayList<>();
+        for (int ord = 0; ord < categoryNames.size(); ord++) {
+            int count = mask == null ? categoryCounts[ord] : categoryBits.get(ord).andCardinality(mask);
+            if (count > 0) {
+                Map<String, Object> facet = new LinkedHashMap<>();
+                facet.put("category", categoryNames.get(ord));
+                facet.put("count", count);
+                facets.add(facet);
+            }
+        }
+        facets.sort((a, b) -> Integer.compare((int) b.get("count"), (int) a.get("count")));
+        return facets;
+    }
+
+    private List<Map<String, Object>> priceFacet(LongBitSet mask) {
+        List<Map<String, Object>> facets = new ArrayList<>();
+        for (int bucket = 0; bucket < bucketBits.length; bucket++) {
+            Map<String, Object> facet = new LinkedHashMap<>();
+            facet.put("bucket", bucket);
+            facet.put("minPrice", bucket == 0 ? 0 : priceBounds[bucket - 1]);
+            facet.put("maxPrice", bucket < priceBounds.length ? priceBounds[bucket] - 1 : null);
+            facet.put("count", mask == null ? bucketCounts[bucket] : bucketBits[bucket].andCardinality(mask));
+            facets.add(facet);
+        }
+        return facets;
+    }
+
+    private void reset(int expectedSize) {
+        int capacity = Math.max(16, expectedSize);
+        slotByProductId = new HashMap<>(capacity * 2);
+        categoryOrds = new int[capacity];
+        bucketOrds = new int[capacity];
+        slotCount = 0;
+
+        categoryOrdByName = new HashMap<>();
+        categoryNames = new ArrayList<>();
+        categoryBits = new ArrayList<>();
+        categoryCounts = new int[8];
+
+        bucketBits = new LongBitSet[priceBounds.length + 1];
+        for (int i = 0; i < bucketBits.length; i++) {
+            bucketBits[i] = new LongBitSet(capacity);
+        }
+        bucketCounts = new int[bucketBits.length];
+        inStockBits = new LongBitSet(capacity);
+        inStockCount = 0;
+    }
+
+    private void upsert(Product product) {
+        Integer existing = slotByProductId.get(product.getId());
+        int slot;
+        if (existing != null) {
+            slot = existing;
+            removeCategory(slot);
+            bucketBits[bucketOrds[slot]].clear(slot);
+            bucketCounts[bucketOrds[slot]]--;
+        } else {
+            slot = slotCount++;
+            if (slot == categoryOrds.length) {
+                int capacity = slot + (slot >> 1) + 1;
+                categoryOrds = Arrays.copyOf(categoryOrds, capacity);
+                bucketOrds = Arrays.copyOf(bucketOrds, capacity);
+            }
+            slotByProductId.put(product.getId(), slot);
+        }
+
+        int categoryOrd = categoryOrd(product.getCategory());
+        categoryOrds[slot] = categoryOrd;
+        if (categoryOrd >= 0) {
+            categoryBits.get(categoryOrd).set(slot);
+            categoryCounts[categoryOrd]++;
+        }
+
+        int bucket = bucketOf(product.getPrice());
+        bucketOrds[slot] = bucket;
+        bucketBits[bucket].set(slot);
+        bucketCounts[bucket]++;
+
+        setInStock(slot, product.getStock() > 0);
+    }
+
+    private void removeCategory(int slot) {
+        int ord = categoryOrds[slot];
+        if (ord >= 0) {
+            categoryBits.get(ord).clear(slot);
+            categoryCounts[ord]--;
+        }
+    }
+
+    private boolean setInStock(int slot, boolean inStock) {
+        if (inStockBits.get(slot) == inStock) {
+            return false;
+        }
+        if (inStock) {
+            inStockBits.set(slot);
+            inStockCount++;
+        } else {
+            inStockBits.clear(slot);
+            inStockCount--;
+        }
+        return true;
+    }
+
+    /**
+     * 카테고리 번호 (처음 보는 카테고리는 새로 등록, 없으면 -1)
+     */
+    private int categoryOrd(String category) {
+        if (category == null || category.isEmpty()) {
+            return -1;
+        }
+        Integer ord = categoryOrdByName.get(category);
+        if (ord == null) {
+            ord = categoryNames.size();
+            categoryOrdByName.put(category, ord);
+            categoryNames.add(category);
+            categoryBits.add(new LongBitSet(categoryOrds.length));
+            if (ord == categoryCounts.length) {
+                categoryCounts = Arrays.copyOf(categoryCounts, ord * 2);
+            }
+        }
+        return ord;
+    }
+
+    private int bucketOf(int price) {
+        int idx = Arrays.binarySearch(priceBounds, price);
+        return idx >= 0 ? idx + 1 : -idx - 1;
+    }
+}
@@ -0,0 +1,290 @@
+package com.shop.product.search;
+
+import com.shop.product.Product;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 상품 검색용 인메모리 역색인 (name, description, category)
+ * LIKE '%키워드%' 풀스캔 대신 n-gram posting list 교집합으로 후보를 찾고 가중치 점수로 정렬
+ *
+ * - 단어(term) 내부: 모든 gram을 포함하는 문서만 (AND)
+ * - 단어 간: 합집합, 일치한 단어 수 → 점수 순으로 정렬
+ * - 수정된 상품은 새 문서 ID로 다시 색인하고 이전 문서는 삭제 표시, 삭제가 많아지면 압축
+ */
+@Component
+public class ProductSearchIndex {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    // 삭제 표시된 문서가 이 수 이상이고 전체의 25%를 넘으면 압축
+    private static final int COMPACT_MIN_DELETED = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Product[] docs = new Product[0];
+    private int docCount;
+    private BitSet deleted = new BitSet();
+    private int deletedCount;
+    private Map<Long, Integer> docByProductId = new HashMap<>();
+    private Map<Integer, IntPostingList> postings = new HashMap<>();
+
+    // 최초 색인 전에 저장된 상품은 색인 완료 후 반영
+    private boolean ready;
+    private final List<Product> pending = new ArrayList<>();
+
+    /**
+     * 전체 재색인
+     */
+    public void rebuild(Collection<Product> products) {
+        lock.writeLock().lock();
+        try {
+            reset(products.size());
+            for (Product product : products) {
+                addDocument(product);
+            }
+            ready = true;
+            pending.forEach(this::upsert);
+            pending.clear();
+            logger.info("상품 검색 색인 완료: 문서 {}개, gram {}개", docCount, postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 상품 1건 색인 (신규 또는 수정)
+     */
+    public void index(Product product) {
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!ready) {
+                pending.add(product);
+                return;
+            }
+            upsert(product);
+            if (deletedCount >= COMPACT_MIN_DELETED && deletedCount * 4 > docCount) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return ready;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 다중 단어 검색, 상위 limit개를 점수 순으로 반환
+     */
+    public List<Product> search(String query, int limit) {
+        List<String> terms = NgramTokenizer.words(NgramTokenizer.normalize(query)).stream()
+                .distinct()
+                .toList();
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Hits total = Hits.EMPTY;
+            for (String term : terms) {
+                Hits hits = matchTerm(term);
+                if (hits.size > 0) {
+                    total = total.union(hits);
+                }
+            }
+            return topK(total, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void reset(int expectedSize) {
+        docs = new Product[Math.max(16, expectedSize)];
+        docCount = 0;
+        deleted = new BitSet();
+        deletedCount = 0;
+        docByProductId = new HashMap<>(Math.max(16, expectedSize * 2));
+        postings = new HashMap<>();
+    }
+
+    private void upsert(Product product) {
+        Integer previous = docByProductId.get(product.getId());
+        if (previous != null) {
+            deleted.set(previous);
+            deletedCount++;
+        }
+        addDocument(product);
+    }
+
+    private void compact() {
+        List<Product> live = new ArrayList<>(docCount - deletedCount);
+        for (int doc = 0; doc < docCount; doc++) {
+            if (!deleted.get(doc)) {
+                live.add(docs[doc]);
+            }
+        }
+        reset(live.size());
+        live.forEach(this::addDocument);
+        logger.info("상품 검색 색인 압축 완료: 문서 {}개", docCount);
+    }
+
+    private void addDocument(Product product) {
+        if (docCount == docs.length) {
+            docs = Arrays.copyOf(docs, docCount + (docCount >> 1) + 1);
+        }
+        int doc = docCount++;
+        docs[doc] = product;
+        docByProductId.put(product.getId(), doc);
+
+        Map<Integer, Integer> gramWeights = new HashMap<>();
+        collectGrams(gramWeights, product.getName(), NAME_WEIGHT);
+        collectGrams(gramWeights, product.getCategory(), CATEGORY_WEIGHT);
+        collectGrams(gramWeights, product.getDescription(), DESCRIPTION_WEIGHT);
+        gramWeights.forEach((gram, weight) ->
+                postings.computeIfAbsent(gram, g -> new IntPostingList()).add(doc, weight));
+    }
+
+    private void collectGrams(Map<Integer, Integer> gramWeights, String text, int fieldWeight) {
+        for (String word : NgramTokenizer.words(NgramTokenizer.normalize(text))) {
+            for (int gram : NgramTokenizer.indexGrams(word)) {
+                gramWeights.merge(gram, fieldWeight, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * 단어 하나의 모든 gram을 포함하는 문서 (가장 짧은 posting list 기준 교집합)
+     */
+    private Hits matchTerm(String term) {
+        int[] grams = NgramTokenizer.queryGrams(term);
+        IntPostingList[] lists = new IntPostingList[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            lists[i] = postings.get(grams[i]);
+            if (lists[i] == null) {
+                return Hits.EMPTY;
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(IntPostingList::size));
+
+        int liveDocs = Math.max(1, docCount - deletedCount);
+        float[] idf = new float[lists.length];
+        for (int i = 0; i < lists.length; i++) {
+            idf[i] = (float) Math.log(1.0 + (double) liveDocs / lists[i].size());
+        }
+
+        IntPostingList shortest = lists[0];
+        Hits hits = new Hits(shortest.size());
+        int[] cursors = new int[lists.length];
+
+        outer:
+        for (int i = 0; i < shortest.size(); i++) {
+            int doc = shortest.doc(i);
+            if (deleted.get(doc)) {
+                continue;
+            }
+            float score = shortest.weight(i) * idf[0];
+            for (int l = 1; l < lists.length; l++) {
+                IntPostingList list = lists[l];
+                cursors[l] = list.advance(cursors[l], doc);
+                if (cursors[l] >= list.size() || list.doc(cursors[l]) != doc) {
+                    continue outer;
+                }
+                score += list.weight(cursors[l]) * idf[l];
+            }
+            hits.add(doc, score, 1);
+        }
+        return hits;
+    }
+
+    private List<Product> topK(Hits hits, int limit) {
+        Comparator<Integer> ranking = Comparator.<Integer>comparingInt(i -> hits.matches[i])
+                .thenComparingDouble(i -> hits.scores[i])
+                .thenComparingInt(i -> -hits.docs[i]);
+
+        PriorityQueue<Integer> heap = new PriorityQueue<>(ranking);
+        for (int i = 0; i < hits.size; i++) {
+            heap.offer(i);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+
+        Product[] result = new Product[heap.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = docs[hits.docs[heap.poll()]];
+        }
+        return Arrays.asList(result);
+    }
+
+    /**
+     * 문서 ID 오름차순 검색 결과 (점수, 일치 단어 수)
+     */
+    private static final class Hits {
+        static final Hits EMPTY = new Hits(0);
+
+        int[] docs;
+        float[] scores;
+        int[] matches;
+        int size;
+
+        Hits(int capacity) {
+            docs = new int[capacity];
+            scores = new float[capacity];
+            matches = new int[capacity];
+        }
+
+        void add(int doc, float score, int matched) {
+            docs[size] = doc;
+            scores[size] = score;
+            matches[size] = matched;
+            size++;
+        }
+
+        Hits union(Hits other) {
+            Hits merged = new Hits(size + other.size);
+            int a = 0;
+            int b = 0;
+            while (a < size || b < other.size) {
+                if (b >= other.size || (a < size && docs[a] < other.docs[b])) {
+                    merged.add(docs[a], scores[a], matches[a]);
+                    a++;
+                } else if (a >= size || other.docs[b] < docs[a]) {
+                    merged.add(other.docs[b], other.scores[b], other.matches[b]);
+                    b++;
+                } else {
+                    merged.add(docs[a], scores[a] + other.scores[b], matches[a] + other.matches[b]);
+                    a++;
+                    b++;
+                }
+            }
+            return merged;
+        }
+    }
+}
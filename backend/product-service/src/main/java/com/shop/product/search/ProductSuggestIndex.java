@@ -0,0 +1,537 @@
+package com.shop.product.search;
+
+import com.shop.product.Product;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 상품명 자동완성용 압축 트라이 (Radix tree)
+ * - 한 글자씩이 아닌 공통 접두어 단위로 간선을 압축하여 노드 수를 상품 수의 2배 이내로 유지
+ *   (삭제/이름 변경으로 자식이 하나만 남은 빈 노드는 자식과 합침)
+ * - 하위 상품이 K개를 넘는 노드만 인기순 상위 K개(엔트리 번호 int 배열)를 미리 계산해 두어
+ *   접두어 탐색 + 배열 복사만으로 응답
+ * - 인기도는 상품 상세 조회 수, 조회마다 락을 잡지 않도록 모아서 주기적으로 반영
+ */
+@Component
+public class ProductSuggestIndex {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Node root = new Node("");
+
+    // 엔트리 테이블 (엔트리 번호 = 배열 인덱스, 상품당 1개)
+    private long[] productIds = new long[16];
+    private long[] weights = new long[16];
+    private String[] names = new String[16];
+    private String[] keys = new String[16];
+    private int entryCount;
+    private Map<Long, Integer> entryByProductId = new HashMap<>();
+
+    private final ConcurrentHashMap<Long, LongAdder> pendingHits = new ConcurrentHashMap<>();
+
+    /**
+     * 전체 재구성 (기존 인기도는 유지)
+     */
+    public void rebuild(Collection<Product> products) {
+        lock.writeLock().lock();
+        try {
+            Map<Long, Long> previousWeights = new HashMap<>();
+            entryByProductId.forEach((productId, entry) -> previousWeights.put(productId, weights[entry]));
+
+            root = new Node("");
+            entryCount = 0;
+            entryByProductId = new HashMap<>(Math.max(16, products.size() * 2));
+            for (Product product : products) {
+                upsert(product, previousWeights.getOrDefault(product.getId(), 0L));
+            }
+            logger.info("상품 자동완성 색인 완료: 상품 {}개", entryCount);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 상품 1건 반영 (신규 또는 이름 변경)
+     */
+    public void index(Product product) {
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer entry = entryByProductId.get(product.getId());
+            upsert(product, entry != null ? weights[entry] : 0L);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 상품 조회 1회 기록 (다음 반영 주기에 인기도에 합산)
+     */
+    public void recordHit(Long productId) {
+        pendingHits.computeIfAbsent(productId, id -> new LongAdder()).increment();
+    }
+
+    @Scheduled(fixedDelayString = "${product.suggest.popularity-flush-ms:5000}")
+    public void applyPendingHits() {
+        if (pendingHits.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> hits = new HashMap<>();
+        pendingHits.forEach((productId, adder) -> {
+            long count = adder.sumThenReset();
+            if (count > 0) {
+                hits.put(productId, count);
+            }
+        });
+
+        lock.writeLock().lock();
+        try {
+            hits.forEach((productId, count) -> {
+                Integer entry = entryByProductId.get(productId);
+                if (entry != null) {
+                    weights[entry] += count;
+                    promote(entry);
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 접두어로 시작하는 상품명을 인기순으로 최대 limit개 반환
+     */
+    public List<Map<String, Object>> suggest(String prefix, int limit) {
+        String key = toKey(prefix);
+        int size = Math.min(Math.max(limit, 0), MAX_SUGGESTIONS);
+        if (key.isEmpty() || size == 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = findPrefixNode(key);
+            if (node == null) {
+                return List.of();
+            }
+            int[] ranked = node.top != null ? node.top : rankedEntries(node);
+
+            List<Map<String, Object>> suggestions = new ArrayList<>(Math.min(size, ranked.length));
+            for (int i = 0; i < ranked.length && i < size; i++) {
+                Map<String, Object> suggestion = new LinkedHashMap<>();
+                suggestion.put("id", productIds[ranked[i]]);
+                suggestion.put("name", names[ranked[i]]);
+                suggestions.add(suggestion);
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 정규화 후 공백을 하나로 합친 검색 키
+     */
+    static String toKey(String text) {
+        return String.join(" ", NgramTokenizer.words(NgramTokenizer.normalize(text)));
+    }
+
+    private void upsert(Product product, long weight) {
+        String key = toKey(product.getName());
+        Integer existing = entryByProductId.get(product.getId());
+
+        int entry;
+        if (existing != null) {
+            entry = existing;
+            names[entry] = product.getName();
+            if (key.equals(keys[entry])) {
+                return;
+            }
+            if (keys[entry] != null) {
+                remove(entry);
+            }
+        } else {
+            entry = newEntry(product.getId());
+        }
+
+        weights[entry] = weight;
+        names[entry] = product.getName();
+        keys[entry] = key.isEmpty() ? null : key;
+        if (keys[entry] != null) {
+            insert(entry);
+        }
+    }
+
+    private int newEntry(Long productId) {
+        if (entryCount == productIds.length) {
+            int capacity = entryCount + (entryCount >> 1) + 1;
+            productIds = Arrays.copyOf(productIds, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+            names = Arrays.copyOf(names, capacity);
+            keys = Arrays.copyOf(keys, capacity);
+        }
+        int entry = entryCount++;
+        productIds[entry] = productId;
+        entryByProductId.put(productId, entry);
+        return entry;
+    }
+
+    private void insert(int entry) {
+        String key = keys[entry];
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        int pos = 0;
+        while (true) {
+            node.size++;
+            path.add(node);
+            if (pos == key.length()) {
+                node.terminals = append(node.terminals, entry);
+                break;
+            }
+
+            int idx = node.childIndex(key.charAt(pos));
+            if (idx < 0) {
+                Node leaf = new Node(key.substring(pos));
+                leaf.size = 1;
+                leaf.terminals = new int[] { entry };
+                node.addChild(-idx - 1, leaf);
+                break;
+            }
+
+            Node child = node.children[idx];
+            int common = commonPrefix(child.label, key, pos);
+            if (common < child.label.length()) {
+                // 간선 중간에서 갈라지면 공통 접두어 노드로 분할
+                Node split = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                split.size = child.size;
+                split.top = child.top != null ? child.top.clone() : null;
+                split.childChars = new char[] { child.label.charAt(0) };
+                split.children = new Node[] { child };
+                node.children[idx] = split;
+                child = split;
+            }
+            node = child;
+            pos += common;
+        }
+
+        for (Node visited : path) {
+            offerTop(visited, entry);
+        }
+    }
+
+    private void remove(int entry) {
+        String key = keys[entry];
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        int pos = 0;
+        path.add(node);
+        while (pos < key.length()) {
+            int idx = node.childIndex(key.charAt(pos));
+            if (idx < 0) {
+                return;
+            }
+            node = node.children[idx];
+            pos += node.label.length();
+            path.add(node);
+        }
+
+        node.terminals = without(node.terminals, entry);
+        // 아래에서 위로 크기와 상위 K개를 다시 계산하고 빈 노드는 제거
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node current = path.get(i);
+            current.size--;
+            if (i > 0 && current.size == 0) {
+                path.get(i - 1).removeChild(current);
+                continue;
+            }
+            if (current.top != null && current.size <= MAX_SUGGESTIONS) {
+                current.top = null;
+            } else if (current.top != null && indexOf(current.top, entry) >= 0) {
+                current.top = recomputeTop(current);
+            }
+            if (i > 0 && current.terminals == null && current.children != null && current.children.length == 1) {
+                mergeWithChild(current);
+            }
+        }
+    }
+
+    /**
+     * 상품이 없고 자식이 하나뿐인 노드를 자식과 합침 (하위 엔트리 집합이 같으므로 크기/상위 K개는 자식 값 사용)
+     */
+    private static void mergeWithChild(Node node) {
+        Node child = node.children[0];
+        node.label = node.label + child.label;
+        node.childChars = child.childChars;
+        node.children = child.children;
+        node.terminals = child.terminals;
+        node.top = child.top;
+        node.size = child.size;
+    }
+
+    /**
+     * 루트를 포함한 트라이 노드 수 (테스트/진단용)
+     */
+    int nodeCount() {
+        lock.readLock().lock();
+        try {
+            return countNodes(root);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int countNodes(Node node) {
+        int count = 1;
+        if (node.children != null) {
+            for (Node child : node.children) {
+                count += countNodes(child);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 인기도가 오른 엔트리를 경로상의 상위 K개에 반영 (가중치는 증가만 하므로 부분 갱신으로 충분)
+     */
+    private void promote(int entry) {
+        String key = keys[entry];
+        if (key == null) {
+            return;
+        }
+        Node node = root;
+        int pos = 0;
+        while (true) {
+            offerTop(node, entry);
+            if (pos >= key.length()) {
+                return;
+            }
+            int idx = node.childIndex(key.charAt(pos));
+            if (idx < 0) {
+                return;
+            }
+            node = node.children[idx];
+            pos += node.label.length();
+        }
+    }
+
+    private void offerTop(Node node, int entry) {
+        if (node.size <= MAX_SUGGESTIONS) {
+            return;
+        }
+        if (node.top == null) {
+            // 크기가 K를 처음 넘는 시점: 하위 엔트리가 K+1개뿐이므로 직접 수집
+            node.top = Arrays.copyOf(rankedEntries(node), MAX_SUGGESTIONS);
+            return;
+        }
+
+        int[] top = node.top;
+        int at = indexOf(top, entry);
+        if (at < 0) {
+            if (!better(entry, top[top.length - 1])) {
+                return;
+            }
+            at = top.length - 1;
+            top[at] = entry;
+        }
+        while (at > 0 && better(top[at], top[at - 1])) {
+            int tmp = top[at - 1];
+            top[at - 1] = top[at];
+            top[at] = tmp;
+            at--;
+        }
+    }
+
+    private int[] recomputeTop(Node node) {
+        List<int[]> candidates = new ArrayList<>();
+        if (node.terminals != null) {
+            candidates.add(node.terminals);
+        }
+        if (node.children != null) {
+            for (Node child : node.children) {
+                candidates.add(child.top != null ? child.top : rankedEntries(child));
+            }
+        }
+        return Arrays.copyOf(sortEntries(concat(candidates)), MAX_SUGGESTIONS);
+    }
+
+    /**
+     * 상위 K개가 없는 작은 서브트리(K개 이하)의 엔트리를 모아 정렬
+     */
+    private int[] rankedEntries(Node node) {
+        List<int[]> collected = new ArrayList<>();
+        collect(node, collected);
+        return sortEntries(concat(collected));
+    }
+
+    private void collect(Node node, List<int[]> collected) {
+        if (node.terminals != null) {
+            collected.add(node.terminals);
+        }
+        if (node.children != null) {
+            for (Node child : node.children) {
+                collect(child, collected);
+            }
+        }
+    }
+
+    private Node findPrefixNode(String prefix) {
+        Node node = root;
+        int pos = 0;
+        while (pos < prefix.length()) {
+            int idx = node.childIndex(prefix.charAt(pos));
+            if (idx < 0) {
+                return null;
+            }
+            Node child = node.children[idx];
+            int common = commonPrefix(child.label, prefix, pos);
+            if (pos + common == prefix.length()) {
+                return child;
+            }
+            if (common < child.label.length()) {
+                return null;
+            }
+            node = child;
+            pos += common;
+        }
+        return node;
+    }
+
+    // 인기도 내림차순, 같으면 먼저 등록된 상품 우선
+    private boolean better(int a, int b) {
+        return weights[a] > weights[b] || (weights[a] == weights[b] && a < b);
+    }
+
+    private int[] sortEntries(int[] entries) {
+        return Arrays.stream(entries)
+                .boxed()
+                .sorted((a, b) -> a.equals(b) ? 0 : (better(a, b) ? -1 : 1))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static int commonPrefix(String label, String key, int pos) {
+        int max = Math.min(label.length(), key.length() - pos);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(pos + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int indexOf(int[] values, int value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int[] append(int[] values, int value) {
+        if (values == null) {
+            return new int[] { value };
+        }
+        int[] result = Arrays.copyOf(values, values.length + 1);
+        result[values.length] = value;
+        return result;
+    }
+
+    private static int[] without(int[] values, int value) {
+        if (values == null) {
+            return null;
+        }
+        int[] result = Arrays.stream(values).filter(v -> v != value).toArray();
+        return result.length == 0 ? null : result;
+    }
+
+    private static int[] concat(List<int[]> arrays) {
+        int total = 0;
+        for (int[] array : arrays) {
+            total += array.length;
+        }
+        int[] result = new int[total];
+        int pos = 0;
+        for (int[] array : arrays) {
+            System.arraycopy(array, 0, result, pos, array.length);
+            pos += array.length;
+        }
+        return result;
+    }
+
+    /**
+     * 트라이 노드: 자식은 첫 글자 기준 정렬 배열로 보관 (노드별 HashMap 없음)
+     */
+    private static final class Node {
+        String label;
+        char[] childChars;
+        Node[] children;
+        int[] terminals;
+        int[] top;
+        int size;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        int childIndex(char c) {
+            if (childChars == null) {
+                return -1;
+            }
+            return Arrays.binarySearch(childChars, c);
+        }
+
+        void addChild(int at, Node child) {
+            int n = childChars == null ? 0 : childChars.length;
+            char[] chars = new char[n + 1];
+            Node[] nodes = new Node[n + 1];
+            if (n > 0) {
+                System.arraycopy(childChars, 0, chars, 0, at);
+                System.arraycopy(children, 0, nodes, 0, at);
+                System.arraycopy(childChars, at, chars, at + 1, n - at);
+                System.arraycopy(children, at, nodes, at + 1, n - at);
+            }
+            chars[at] = child.label.charAt(0);
+            nodes[at] = child;
+            childChars = chars;
+            children = nodes;
+        }
+
+        void removeChild(Node child) {
+            int at = childIndex(child.label.charAt(0));
+            int n = childChars.length;
+            if (n == 1) {
+                childChars = null;
+                children = null;
+                return;
+            }
+            char[] chars = new char[n - 1];
+            Node[] nodes = new Node[n - 1];
+            System.arraycopy(childChars, 0, chars, 0, at);
+            System.arraycopy(children, 0, nodes, 0, at);
+            System.arraycopy(childChars, at + 1, chars, at, n - at - 1);
+            System.arraycopy(children, at + 1, nodes, at, n - at - 1);
+            childChars = chars;
+            children = nodes;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.shop.product.snapshot;
+
+import com.shop.product.Product;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * 카탈로그 스냅샷 바이너리 형식
+ *
+ * 헤더: magic(int) | 형식 버전(int) | 생성 시각(long) | 변경 피드 seq(long)
+ * 레코드: id(long) | price(int) | stock(int) | hotSku(byte) | name, description, image, category
+ *         (문자열은 UTF-8 바이트 길이(int, null이면 -1) + 바이트)
+ * 푸터: 레코드 수(int) | 헤더~레코드 CRC32(long)
+ *
+ * 행 수를 미리 모르는 스트리밍 쓰기를 위해 레코드 수는 푸터에 기록
+ */
+final class CatalogSnapshotFile {
+
+    static final int MAGIC = 0x50435331; // "PCS1"
+    static final int FORMAT_VERSION = 1;
+
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8;
+    private static final int FOOTER_SIZE = 4 + 8;
+
+    private CatalogSnapshotFile() {}
+
+    /**
+     * 읽은 스냅샷 (상품 목록과 스냅샷 시점의 변경 피드 seq)
+     */
+    record Snapshot(long createdAt, long changeSeq, List<Product> products) {}
+
+    /**
+     * 스냅샷 쓰기 (임시 파일에 쓴 뒤 원자적으로 교체하여 읽는 쪽이 쓰다 만 파일을 보지 않게 함)
+     */
+    static final class Writer implements AutoCloseable {
+        private final Path target;
+        private final Path temp;
+        private final CheckedOutputStream checked;
+        private final DataOutputStream out;
+        private int count;
+        private boolean committed;
+
+        Writer(Path target, long changeSeq) throws IOException {
+            this.target = target;
+            Path dir = target.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            this.temp = Files.createTempFile(dir, target.getFileName().toString(), ".tmp");
+            OutputStream file = Files.newOutputStream(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.checked = new CheckedOutputStream(new BufferedOutputStream(file, 1 << 16), new CRC32());
+            this.out = new DataOutputStream(checked);
+
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(System.currentTimeMillis());
+            out.writeLong(changeSeq);
+        }
+
+        void write(long id, int price, int stock, boolean hotSku,
+                   String name, String description, String image, String category) throws IOException {
+            out.writeLong(id);
+            out.writeInt(price);
+            out.writeInt(stock);
+            out.writeByte(hotSku ? 1 : 0);
+            writeString(name);
+            writeString(description);
+            writeString(image);
+            writeString(category);
+            count++;
+        }
+
+        int count() {
+            return count;
+        }
+
+        void commit() throws IOException {
+            out.flush();
+            long crc = checked.getChecksum().getValue();
+            out.writeInt(count);
+            out.writeLong(crc);
+            out.close();
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+        }
+
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                out.writeInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                out.close();
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    /**
+     * 메모리 매핑으로 스냅샷 읽기 (형식이 다르거나 CRC가 맞지 않으면 IOException)
+     */
+    static Snapshot read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE + FOOTER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("스냅샷 크기가 올바르지 않습니다: " + size);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            int bodyEnd = (int) size - FOOTER_SIZE;
+            int count = buffer.getInt(bodyEnd);
+            long expectedCrc = buffer.getLong(bodyEnd + 4);
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(0, bodyEnd));
+            if (crc.getValue() != expectedCrc) {
+                throw new IOException("스냅샷 CRC가 일치하지 않습니다");
+            }
+
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                throw new IOException("지원하지 않는 스냅샷 형식입니다");
+            }
+            long createdAt = buffer.getLong();
+            long changeSeq = buffer.getLong();
+
+            List<Product> products = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Product product = new Product();
+                product.setId(buffer.getLong());
+                product.setPrice(buffer.getInt());
+                product.setStock(buffer.getInt());
+                product.setHotSku(buffer.get() != 0);
+                product.setName(readString(buffer));
+                product.setDescription(readString(buffer));
+                product.setImage(readString(buffer));
+                product.setCategory(readString(buffer));
+                products.add(product);
+            }
+            if (buffer.position() != bodyEnd) {
+                throw new IOException("스냅샷 레코드 수가 일치하지 않습니다");
+            }
+            return new Snapshot(createdAt, changeSeq, products);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
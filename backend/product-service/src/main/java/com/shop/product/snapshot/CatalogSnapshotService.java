@@ -0,0 +1,239 @@
+package com.shop.product.snapshot;
+
+import com.shop.product.Product;
+import com.shop.product.ProductRepository;
+import com.shop.product.feed.ProductChange;
+import com.shop.product.feed.ProductChangeFeed;
+import com.shop.product.feed.ProductChangeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 카탈로그 스냅샷 (Scale-out 시 새 Pod의 콜드 스타트 완화)
+ * - 주기적으로 전체 상품을 스냅샷 파일로 기록 (공유 볼륨이면 Redis 락으로 한 Pod만 기록)
+ * - 기동 시 스냅샷을 메모리 매핑으로 읽고, 스냅샷 이후 변경만 변경 피드로 따라잡은 뒤 재고만 가볍게 갱신
+ * - 색인(검색/자동완성/패싯)은 스냅샷 상품으로 메모리에서 재구성 (MySQL 전체 조회 없음)
+ */
+@Service
+public class CatalogSnapshotService {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    public static final String WRITE_LOCK_KEY = "product:snapshot:lock";
+
+    private static final String SELECT_SQL =
+            "SELECT id, name, description, price, stock, image, category, hot_sku FROM products " +
+            "WHERE id > ? ORDER BY id LIMIT ?";
+
+    private static final int CHUNK_SIZE = 50000;
+    private static final int CATCH_UP_PAGE_SIZE = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductChangeRepository changeRepository;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private ProductChangeFeed changeFeed;
+
+    @Value("${product.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${product.snapshot.path:/var/cache/product-service/catalog.snap}")
+    private String path;
+
+    // 이 시간보다 오래된 스냅샷이면 새로 기록
+    @Value("${product.snapshot.write-interval-ms:600000}")
+    private long writeIntervalMillis;
+
+    /**
+     * 스냅샷 + 변경분으로 카탈로그 로드
+     * @return 스냅샷이 없거나 사용할 수 없으면 null (호출 측에서 DB 전체 조회)
+     */
+    public List<Product> loadCatalog() {
+        if (!enabled || !Files.exists(snapshotPath())) {
+            return null;
+        }
+
+        long start = System.currentTimeMillis();
+        CatalogSnapshotFile.Snapshot snapshot;
+        try {
+            snapshot = CatalogSnapshotFile.read(snapshotPath());
+        } catch (Exception e) {
+            logger.warn("카탈로그 스냅샷을 읽을 수 없어 DB에서 로드합니다: {}", e.getMessage());
+            return null;
+        }
+
+        Map<Long, Product> catalog = new LinkedHashMap<>(snapshot.products().size() * 2);
+        snapshot.products().forEach(product -> catalog.put(product.getId(), product));
+
+        Set<Long> changedIds;
+        try {
+            changedIds = changedSince(snapshot.changeSeq());
+            if (changedIds == null) {
+                logger.info("스냅샷 이후 전체 재동기화가 필요한 변경이 있어 DB에서 로드합니다");
+                return null;
+            }
+            List<Long> ids = new ArrayList<>(changedIds);
+            for (int i = 0; i < ids.size(); i += CATCH_UP_PAGE_SIZE) {
+                productRepository.findAllById(ids.subList(i, Math.min(ids.size(), i + CATCH_UP_PAGE_SIZE)))
+                        .forEach(product -> catalog.put(product.getId(), product));
+            }
+
+            // 재고는 예약/Hot SKU 반영으로 변경 피드 없이 바뀌므로 id, stock만 다시 읽음
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement("SELECT id, stock FROM products",
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(Integer.MIN_VALUE);
+                return statement;
+            }, (ResultSet rs) -> {
+                Product product = catalog.get(rs.getLong(1));
+                if (product != null) {
+                    product.setStock(rs.getInt(2));
+                }
+            });
+        } catch (Exception e) {
+            logger.warn("스냅샷 이후 변경 반영 실패, DB에서 로드합니다: {}", e.getMessage());
+            return null;
+        }
+
+        logger.info("카탈로그 스냅샷 로드 완료: 상품 {}개 (스냅샷 {}개, 변경 {}개), 스냅샷 생성 후 {}초, {}ms",
+                catalog.size(), snapshot.products().size(), changedIds.size(),
+                (System.currentTimeMillis() - snapshot.createdAt()) / 1000, System.currentTimeMillis() - start);
+        return new ArrayList<>(catalog.values());
+    }
+
+    /**
+     * 스냅샷이 오래됐으면 새로 기록 (여러 Pod가 같은 볼륨을 쓰면 한 Pod만 기록)
+     */
+    @Scheduled(fixedDelayString = "${product.snapshot.check-ms:60000}", initialDelayString = "${product.snapshot.check-ms:60000}")
+    public void writeIfStale() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Path target = snapshotPath();
+            if (Files.exists(target)
+                    && System.currentTimeMillis() - Files.getLastModifiedTime(target).toMillis() < writeIntervalMillis) {
+                return;
+            }
+            Boolean locked = stringRedisTemplate.opsForValue()
+                    .setIfAbsent(WRITE_LOCK_KEY, "1", Duration.ofMillis(writeIntervalMillis));
+            if (!Boolean.TRUE.equals(locked)) {
+                return;
+            }
+            write(target);
+        } catch (Exception e) {
+            logger.error("카탈로그 스냅샷 기록 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * DB에서 id 순으로 스트리밍하며 기록 (기준 seq를 먼저 잡아 기록 중 변경은 로드 시 다시 반영)
+     * 기준 seq는 변경 피드의 headSeq (gap-wait-ms 이전 변경까지만 포함): 기준 이하 seq가 행을 읽은 뒤에
+     * 늦게 커밋되면 로드 시 다시 반영되지 않으므로, 늦은 커밋을 기다리는 시간과 같은 기준을 사용
+     */
+    private void write(Path target) throws IOException {
+        long start = System.currentTimeMillis();
+        long changeSeq = changeFeed.getHeadSeq();
+
+        try (CatalogSnapshotFile.Writer writer = new CatalogSnapshotFile.Writer(target, changeSeq)) {
+            long lastId = 0;
+            while (true) {
+                long after = lastId;
+                long[] last = { after };
+                int[] rows = { 0 };
+                jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(SELECT_SQL,
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(Integer.MIN_VALUE);
+                    statement.setLong(1, after);
+                    statement.setInt(2, CHUNK_SIZE);
+                    return statement;
+                }, (ResultSet rs) -> {
+                    try {
+                        writer.write(rs.getLong("id"), rs.getInt("price"), rs.getInt("stock"), rs.getBoolean("hot_sku"),
+                                rs.getString("name"), rs.getString("description"),
+                                rs.getString("image"), rs.getString("category"));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    last[0] = rs.getLong("id");
+                    rows[0]++;
+                });
+                lastId = last[0];
+                if (rows[0] < CHUNK_SIZE) {
+                    break;
+                }
+            }
+            writer.commit();
+            logger.info("카탈로그 스냅샷 기록 완료: 상품 {}개, seq={}, {}bytes, {}ms", writer.count(), changeSeq,
+                    Files.size(target), System.currentTimeMillis() - start);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * since 이후 변경된 상품 id
+     * @return 재동기화 표시가 있거나 since가 보관 기간 밖이면 null
+     */
+    private Set<Long> changedSince(long since) {
+        Long oldest = changeRepository.findOldestSeq();
+        if (oldest != null && since < oldest - 1) {
+            return null;
+        }
+
+        Set<Long> ids = new LinkedHashSet<>();
+        long cursor = since;
+        LocalDateTime now = LocalDateTime.now();
+        while (true) {
+            List<ProductChange> changes = changeRepository.findChangesAfter(cursor, now,
+                    PageRequest.of(0, CATCH_UP_PAGE_SIZE));
+            for (ProductChange change : changes) {
+                if (ProductChange.RESYNC.equals(change.getChangeType())) {
+                    return null;
+                }
+                ids.add(change.getProductId());
+            }
+            if (changes.size() < CATCH_UP_PAGE_SIZE) {
+                return ids;
+            }
+            cursor = changes.get(changes.size() - 1).getSeq();
+        }
+    }
+
+    private Path snapshotPath() {
+        return Paths.get(path);
+    }
+}
@@ -0,0 +1,38 @@
+package com.shop.product.stats;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 상품별 조회 통계 (Redis에 모인 조회 수/순 방문자를 주기적으로 반영)
+ * 행은 ProductViewStatsService가 JDBC upsert로 기록하고, JPA는 조회에만 사용
+ */
+@Entity
+@Table(name = "product_stats")
+public class ProductStats {
+    
+    @Id
+    private Long productId;
+    
+    private long viewCount;
+    
+    // HyperLogLog 추정값 (오차 약 0.81%)
+    private long uniqueVisitors;
+    
+    private LocalDateTime updatedAt;
+    
+    public ProductStats() {}
+    
+    // Getters and Setters
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+    
+    public long getViewCount() { return viewCount; }
+    public void setViewCount(long viewCount) { this.viewCount = viewCount; }
+    
+    public long getUniqueVisitors() { return uniqueVisitors; }
+    public void setUniqueVisitors(long uniqueVisitors) { this.uniqueVisitors = uniqueVisitors; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,35 @@
+package com.shop.product.stats;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * 상품 조회 통계 API
+ * 응답: {"productId": 1, "views": 1234, "uniqueVisitors": 567, "updatedAt": "..."}
+ * uniqueVisitors는 HyperLogLog 추정값
+ */
+@RestController
+@RequestMapping("/api/products")
+@CrossOrigin(origins = "${CORS_ALLOWED_ORIGINS}")
+public class ProductStatsController {
+    
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    
+    @Autowired
+    private ProductViewStatsService statsService;
+    
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<?> getStats(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(statsService.getStats(id));
+        } catch (Exception e) {
+            logger.error("상품 조회 통계 조회 실패: id={}, error={}", id, e.getMessage());
+            return ResponseEntity.internalServerError().body(Map.of("message", "서버 오류"));
+        }
+    }
+}
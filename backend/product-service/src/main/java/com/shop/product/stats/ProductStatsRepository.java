@@ -0,0 +1,6 @@
+package com.shop.product.stats;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ProductStatsRepository extends JpaRepository<ProductStats, Long> {
+}
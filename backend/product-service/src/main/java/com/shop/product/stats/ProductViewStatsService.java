@@ -0,0 +1,295 @@
+package com.shop.product.stats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 상품 조회 수 / 순 방문자 집계
+ * 1) 조회 시: 로컬 메모리 버퍼에만 기록 (Redis/DB 호출 없음)
+ * 2) 주기적 flush: 버퍼를 파이프라인 한 번으로 Redis에 반영 (INCRBY 조회 수, PFADD 방문자, SADD 변경 상품)
+ * 3) 주기적 rollup: 변경된 상품만 골라 배치로 product_stats에 upsert (여러 Pod 중 하나만 수행)
+ *
+ * 조회 수는 Redis에 아직 반영 안 된 증가분만 두고(GETSET 0) DB에 더하며,
+ * 순 방문자는 HyperLogLog 추정값을 그대로 DB에 기록
+ */
+@Service
+public class ProductViewStatsService {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    public static final String DIRTY_KEY = "product:stats:dirty";
+    public static final String ROLLUP_LOCK_KEY = "product:stats:lock";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO product_stats (product_id, view_count, unique_visitors, updated_at) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE view_count = view_count + VALUES(view_count), " +
+            "unique_visitors = GREATEST(unique_visitors, VALUES(unique_visitors)), updated_at = VALUES(updated_at)";
+
+    private record Visit(Long productId, String visitorId) {}
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductStatsRepository statsRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${product.stats.enabled:true}")
+    private boolean enabled;
+
+    // flush 주기 사이에 보관할 (상품, 방문자) 최대 개수 (초과분은 조회 수만 집계)
+    @Value("${product.stats.max-buffered-visits:100000}")
+    private int maxBufferedVisits;
+
+    @Value("${product.stats.rollup-batch-size:500}")
+    private int rollupBatchSize;
+
+    @Value("${product.stats.rollup-ms:60000}")
+    private long rollupMillis;
+
+    // Redis 반영 전 로컬 버퍼 (merge/remove가 키 단위로 원자적이라 flush 중 기록도 유실되지 않음)
+    private final Map<Long, Long> pendingViews = new ConcurrentHashMap<>();
+    private final Set<Visit> pendingVisits = ConcurrentHashMap.newKeySet();
+
+    // Redis 키 생성 메서드들
+    private static String getViewsKey(Long productId) {
+        return "product:stats:views:" + productId;
+    }
+
+    private static String getVisitorsKey(Long productId) {
+        return "product:stats:visitors:" + productId;
+    }
+
+    /**
+     * 상품 상세 조회 기록 (메모리에만 기록하므로 응답 지연 없음)
+     */
+    public void recordView(Long productId, String visitorId) {
+        if (!enabled || productId == null) {
+            return;
+        }
+        pendingViews.merge(productId, 1L, Long::sum);
+        if (visitorId != null && !visitorId.isEmpty()) {
+            if (pendingVisits.size() < maxBufferedVisits) {
+                pendingVisits.add(new Visit(productId, visitorId));
+            } else {
+                meterRegistry.counter("product.stats.visits.dropped").increment();
+            }
+        }
+    }
+
+    /**
+     * 로컬 버퍼를 Redis에 반영
+     */
+    @Scheduled(fixedDelayString = "${product.stats.flush-ms:1000}")
+    public void flush() {
+        if (pendingViews.isEmpty() && pendingVisits.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Long> views = new HashMap<>();
+        for (Long productId : pendingViews.keySet()) {
+            Long count = pendingViews.remove(productId);
+            if (count != null) {
+                views.put(productId, count);
+            }
+        }
+        Map<Long, List<String>> visitors = new HashMap<>();
+        for (Iterator<Visit> it = pendingVisits.iterator(); it.hasNext(); ) {
+            Visit visit = it.next();
+            it.remove();
+            visitors.computeIfAbsent(visit.productId(), id -> new ArrayList<>()).add(visit.visitorId());
+        }
+
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                views.forEach((productId, count) ->
+                        connection.stringCommands().incrBy(bytes(getViewsKey(productId)), count));
+                visitors.forEach((productId, ids) -> {
+                    byte[][] values = new byte[ids.size()][];
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = bytes(ids.get(i));
+                    }
+                    connection.hyperLogLogCommands().pfAdd(bytes(getVisitorsKey(productId)), values);
+                });
+
+                Set<Long> changed = new HashSet<>(views.keySet());
+                changed.addAll(visitors.keySet());
+                byte[][] members = new byte[changed.size()][];
+                int i = 0;
+                for (Long productId : changed) {
+                    members[i++] = bytes(productId.toString());
+                }
+                if (members.length > 0) {
+                    connection.setCommands().sAdd(bytes(DIRTY_KEY), members);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            // 조회 수는 다음 flush에 다시 시도, 방문자는 근사치라 버림
+            views.forEach((productId, count) -> pendingViews.merge(productId, count, Long::sum));
+            logger.warn("상품 조회 통계 Redis 반영 실패: products={}, error={}", views.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * 변경된 상품의 통계를 product_stats에 배치 반영 (Redis 잠금으로 한 Pod만 수행)
+     */
+    @Scheduled(fixedDelayString = "${product.stats.rollup-ms:60000}", initialDelayString = "${product.stats.rollup-ms:60000}")
+    public void rollup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Boolean locked = stringRedisTemplate.opsForValue()
+                    .setIfAbsent(ROLLUP_LOCK_KEY, "1", Duration.ofMillis(rollupMillis));
+            if (!Boolean.TRUE.equals(locked)) {
+                return;
+            }
+        } catch (Exception e) {
+            logger.warn("상품 조회 통계 집계 잠금 실패: {}", e.getMessage());
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        int total = 0;
+        try {
+            List<String> ids;
+            while (!(ids = stringRedisTemplate.opsForSet().pop(DIRTY_KEY, rollupBatchSize)).isEmpty()) {
+                rollupBatch(ids);
+                total += ids.size();
+            }
+            if (total > 0) {
+                logger.info("상품 조회 통계 반영: 상품 {}개, {}ms", total, System.currentTimeMillis() - start);
+            }
+        } catch (Exception e) {
+            logger.error("상품 조회 통계 반영 실패: {}", e.getMessage(), e);
+        } finally {
+            try {
+                stringRedisTemplate.delete(ROLLUP_LOCK_KEY);
+            } catch (Exception e) {
+                logger.warn("상품 조회 통계 집계 잠금 해제 실패: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 조회 수 증가분을 가져오고(GETSET 0) 순 방문자 추정값과 함께 upsert
+     * DB 반영에 실패하면 가져온 증가분을 Redis에 되돌리고 다음 집계에서 재시도
+     */
+    private void rollupBatch(List<String> ids) {
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String id : ids) {
+                Long productId = Long.valueOf(id);
+                connection.stringCommands().getSet(bytes(getViewsKey(productId)), bytes("0"));
+                connection.hyperLogLogCommands().pfCount(bytes(getVisitorsKey(productId)));
+            }
+            return null;
+        });
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Map<Long, Long> deltas = new LinkedHashMap<>();
+        List<Object[]> args = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Long productId = Long.valueOf(ids.get(i));
+            long delta = toLong(results.get(i * 2));
+            long unique = toLong(results.get(i * 2 + 1));
+            deltas.put(productId, delta);
+            args.add(new Object[] {productId, delta, unique, now});
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, args);
+        } catch (Exception e) {
+            restore(deltas);
+            throw e;
+        }
+    }
+
+    private void restore(Map<Long, Long> deltas) {
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                deltas.forEach((productId, delta) -> {
+                    if (delta > 0) {
+                        connection.stringCommands().incrBy(bytes(getViewsKey(productId)), delta);
+                    }
+                    connection.setCommands().sAdd(bytes(DIRTY_KEY), bytes(productId.toString()));
+                });
+                return null;
+            });
+        } catch (Exception e) {
+            logger.error("상품 조회 수 복구 실패 (증가분 유실): products={}, error={}", deltas.keySet(), e.getMessage());
+        }
+    }
+
+    /**
+     * 상품 조회 통계 (DB 반영분 + 아직 반영 안 된 Redis 증가분)
+     */
+    public Map<String, Object> getStats(Long productId) {
+        ProductStats stats = statsRepository.findById(productId).orElse(null);
+        long views = stats != null ? stats.getViewCount() : 0;
+        long uniqueVisitors = stats != null ? stats.getUniqueVisitors() : 0;
+
+        try {
+            List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.stringCommands().get(bytes(getViewsKey(productId)));
+                connection.hyperLogLogCommands().pfCount(bytes(getVisitorsKey(productId)));
+                return null;
+            });
+            views += toLong(results.get(0));
+            uniqueVisitors = Math.max(uniqueVisitors, toLong(results.get(1)));
+        } catch (Exception e) {
+            logger.warn("상품 조회 통계 Redis 조회 실패, DB 값으로 응답: id={}, error={}", productId, e.getMessage());
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("productId", productId);
+        result.put("views", views);
+        result.put("uniqueVisitors", uniqueVisitors);
+        result.put("updatedAt", stats != null ? stats.getUpdatedAt() : null);
+        return result;
+    }
+
+    private static long toLong(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        return value instanceof Number number ? number.longValue() : Long.parseLong(value.toString());
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
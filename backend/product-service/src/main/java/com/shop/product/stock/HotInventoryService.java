@@ -0,0 +1,264 @@
+package com.shop.product.stock;
+
+import com.shop.product.Product;
+import com.shop.product.ProductRepository;
+import com.shop.product.cache.ProductCache;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hot SKU 재고 (플래시 세일용)
+ * 지정된 상품의 재고는 Redis 카운터가 원본이 되어 Lua 스크립트로 원자적으로 차감하고,
+ * 차감분(pending)은 주기적으로/종료 시 모아서 products 테이블에 반영 (write-behind)
+ *
+ * 숫자 카운터를 Lua에서 그대로 다루기 위해 JSON 직렬화 RedisTemplate 대신 StringRedisTemplate 사용
+ */
+@Service
+public class HotInventoryService {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    public static final String HOT_SET_KEY = "product:hot:skus";
+
+    // tryDecrement 결과: 재고 부족 / Hot SKU 아님
+    public static final long INSUFFICIENT = -1;
+    public static final long NOT_HOT = -2;
+
+    private static final RedisScript<Long> DECREMENT_SCRIPT = new DefaultRedisScript<>(
+            "local stock = redis.call('GET', KEYS[1]) " +
+            "if not stock then return -2 end " +
+            "stock = tonumber(stock) " +
+            "local qty = tonumber(ARGV[1]) " +
+            "if stock < qty then return -1 end " +
+            "redis.call('DECRBY', KEYS[1], qty) " +
+            "redis.call('INCRBY', KEYS[2], qty) " +
+            "return stock - qty", Long.class);
+
+    private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return -2 end " +
+            "local stock = redis.call('INCRBY', KEYS[1], ARGV[1]) " +
+            "redis.call('DECRBY', KEYS[2], ARGV[1]) " +
+            "return stock", Long.class);
+
+    private static final RedisScript<Long> ENABLE_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('SET', KEYS[1], ARGV[1]) " +
+            "redis.call('SET', KEYS[2], 0) " +
+            "redis.call('SADD', KEYS[3], ARGV[2]) " +
+            "return 1", Long.class);
+
+    // 재고 키를 지우는 순간부터 차감 스크립트는 NOT_HOT을 반환하여 SQL 경로로 넘어감
+    private static final RedisScript<Long> DISABLE_SCRIPT = new DefaultRedisScript<>(
+            "local stock = redis.call('GET', KEYS[1]) " +
+            "redis.call('DEL', KEYS[1], KEYS[2]) " +
+            "redis.call('SREM', KEYS[3], ARGV[1]) " +
+            "if not stock then return -2 end " +
+            "return tonumber(stock)", Long.class);
+
+    private static final RedisScript<Long> TAKE_PENDING_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+            "local delta = redis.call('GETSET', KEYS[2], 0) " +
+            "return tonumber(delta or 0)", Long.class);
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // 요청마다 Redis를 보지 않도록 Hot SKU 목록을 로컬에 보관 (flush 주기마다 갱신)
+    private final Set<Long> hotProductIds = ConcurrentHashMap.newKeySet();
+
+    // Redis 키 생성 메서드들
+    private String getStockKey(Long productId) {
+        return "product:hot:stock:" + productId;
+    }
+
+    private String getPendingKey(Long productId) {
+        return "product:hot:pending:" + productId;
+    }
+
+    public boolean isHot(Long productId) {
+        return hotProductIds.contains(productId);
+    }
+
+    /**
+     * Redis 재고 차감
+     * @return 남은 재고, 재고 부족 시 INSUFFICIENT, Hot SKU가 아니면 NOT_HOT
+     */
+    public long tryDecrement(Long productId, int quantity) {
+        Long result = stringRedisTemplate.execute(DECREMENT_SCRIPT,
+                List.of(getStockKey(productId), getPendingKey(productId)), String.valueOf(quantity));
+        return result != null ? result : NOT_HOT;
+    }
+
+    /**
+     * Redis 재고 반환
+     * @return Hot SKU가 아니면 false (호출 측에서 SQL로 반환)
+     */
+    public boolean tryIncrement(Long productId, int quantity) {
+        Long result = stringRedisTemplate.execute(INCREMENT_SCRIPT,
+                List.of(getStockKey(productId), getPendingKey(productId)), String.valueOf(quantity));
+        return result != null && result != NOT_HOT;
+    }
+
+    /**
+     * Hot 모드 전환: 행 잠금 상태에서 현재 재고를 Redis로 옮기고 플래그 설정
+     * 잠금 대기 중이던 SQL 차감은 커밋 후 hotSku 조건에 걸려 Redis 경로로 재시도됨
+     */
+    @Transactional
+    public Map<String, Object> enable(Long productId) {
+        Product product = productRepository.findByIdForUpdate(productId).orElse(null);
+        if (product == null) {
+            return null;
+        }
+
+        if (!product.isHotSku()) {
+            stringRedisTemplate.execute(ENABLE_SCRIPT,
+                    List.of(getStockKey(productId), getPendingKey(productId), HOT_SET_KEY),
+                    String.valueOf(product.getStock()), String.valueOf(productId));
+            product.setHotSku(true);
+
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        hotProductIds.add(productId);
+                        productCache.evictItem(productId);
+                    } else {
+                        // DB 전환이 실패하면 Redis 상태도 되돌림
+                        stringRedisTemplate.execute(DISABLE_SCRIPT,
+                                List.of(getStockKey(productId), getPendingKey(productId), HOT_SET_KEY),
+                                String.valueOf(productId));
+                    }
+                }
+            });
+            logger.info("Hot SKU 모드 활성화: productId={}, stock={}", productId, product.getStock());
+        }
+        return status(productId);
+    }
+
+    /**
+     * Hot 모드 해제: Redis 재고를 원본으로 DB에 기록하고 Redis 키 삭제
+     * (아직 반영되지 않은 pending 차감분은 Redis 재고에 이미 포함되어 있으므로 버림)
+     */
+    @Transactional
+    public Map<String, Object> disable(Long productId) {
+        Product product = productRepository.findByIdForUpdate(productId).orElse(null);
+        if (product == null) {
+            return null;
+        }
+
+        if (product.isHotSku()) {
+            Long stock = stringRedisTemplate.execute(DISABLE_SCRIPT,
+                    List.of(getStockKey(productId), getPendingKey(productId), HOT_SET_KEY),
+                    String.valueOf(productId));
+            if (stock != null && stock >= 0) {
+                product.setStock(stock.intValue());
+            }
+            product.setHotSku(false);
+            hotProductIds.remove(productId);
+
+            int finalStock = product.getStock();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        productCache.evictItem(productId);
+                    } else {
+                        // DB 해제가 실패하면 Redis 재고를 복구하여 계속 판매 가능하게 유지
+                        stringRedisTemplate.execute(ENABLE_SCRIPT,
+                                List.of(getStockKey(productId), getPendingKey(productId), HOT_SET_KEY),
+                                String.valueOf(finalStock), String.valueOf(productId));
+                        hotProductIds.add(productId);
+                    }
+                }
+            });
+            logger.info("Hot SKU 모드 해제: productId={}, stock={}", productId, product.getStock());
+        }
+        return status(productId);
+    }
+
+    public Map<String, Object> status(Long productId) {
+        String stock = stringRedisTemplate.opsForValue().get(getStockKey(productId));
+        String pending = stringRedisTemplate.opsForValue().get(getPendingKey(productId));
+
+        Map<String, Object> status = new HashMap<>();
+        status.put("productId", productId);
+        status.put("hot", stock != null);
+        status.put("stock", stock != null ? Long.parseLong(stock) : null);
+        status.put("pendingDelta", pending != null ? Long.parseLong(pending) : 0L);
+        return status;
+    }
+
+    /**
+     * 차감분을 MySQL에 일괄 반영하고 로컬 Hot SKU 목록 갱신
+     * 여러 Pod가 동시에 실행해도 GETSET으로 가져간 차감분은 한 번만 반영됨
+     */
+    @Scheduled(fixedDelayString = "${product.stock.hot.flush-ms:1000}")
+    public void flush() {
+        try {
+            Set<Long> current = new HashSet<>();
+            Set<String> members = stringRedisTemplate.opsForSet().members(HOT_SET_KEY);
+            if (members != null) {
+                members.forEach(member -> current.add(Long.valueOf(member)));
+            }
+            hotProductIds.retainAll(current);
+            hotProductIds.addAll(current);
+
+            for (Long productId : current) {
+                flushProduct(productId);
+            }
+        } catch (Exception e) {
+            logger.error("Hot SKU 재고 반영 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        logger.info("종료 전 Hot SKU 재고 반영");
+        flush();
+    }
+
+    private void flushProduct(Long productId) {
+        Long delta = stringRedisTemplate.execute(TAKE_PENDING_SCRIPT,
+                List.of(getStockKey(productId), getPendingKey(productId)));
+        if (delta == null || delta == 0) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    productRepository.applyHotStockDelta(productId, delta.intValue()));
+            productCache.evictItem(productId);
+        } catch (Exception e) {
+            // 반영 실패한 차감분은 다음 주기에 다시 시도
+            logger.warn("Hot SKU 재고 반영 실패, 재시도 예정: productId={}, delta={}, error={}",
+                    productId, delta, e.getMessage());
+            stringRedisTemplate.opsForValue().increment(getPendingKey(productId), delta);
+        }
+    }
+}
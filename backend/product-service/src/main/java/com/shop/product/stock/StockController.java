@@ -0,0 +1,124 @@
+package com.shop.product.stock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * 재고 예약 API
+ * 주문 흐름: reserve → (결제 성공) commit / (실패·취소) release, 응답이 없으면 TTL 후 자동 반환
+ */
+@RestController
+@RequestMapping("/api/products")
+@CrossOrigin(origins = "${CORS_ALLOWED_ORIGINS}")
+public class StockController {
+    
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    
+    @Autowired
+    private StockReservationService reservationService;
+    
+    @Autowired
+    private HotInventoryService hotInventoryService;
+    
+    /**
+     * 재고 예약
+     * 요청: {"quantity": 2, "ttlSeconds": 600}
+     */
+    @PostMapping("/{productId}/reservations")
+    public ResponseEntity<?> reserve(@PathVariable Long productId, @RequestBody Map<String, Object> request) {
+        try {
+            int quantity = Integer.parseInt(request.get("quantity").toString());
+            Object ttl = request.get("ttlSeconds");
+            Long ttlSeconds = ttl != null ? Long.valueOf(ttl.toString()) : null;
+            
+            StockReservation reservation = reservationService.reserve(productId, quantity, ttlSeconds);
+            if (reservation != null) {
+                return ResponseEntity.ok(reservation);
+            }
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", "재고가 부족합니다"));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "잘못된 요청입니다"));
+        } catch (Exception e) {
+            logger.error("재고 예약 실패: productId={}, error={}", productId, e.getMessage());
+            return ResponseEntity.internalServerError().body(Map.of("message", "서버 오류"));
+        }
+    }
+    
+    @PostMapping("/reservations/{reservationId}/commit")
+    public ResponseEntity<?> commit(@PathVariable Long reservationId) {
+        try {
+            StockReservation reservation = reservationService.commit(reservationId);
+            if (reservation != null) {
+                return ResponseEntity.ok(reservation);
+            }
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", "확정할 수 없는 예약입니다 (없음/만료/처리 완료)"));
+        } catch (Exception e) {
+            logger.error("재고 예약 확정 실패: reservationId={}, error={}", reservationId, e.getMessage());
+            return ResponseEntity.internalServerError().body(Map.of("message", "서버 오류"));
+        }
+    }
+    
+    @PostMapping("/reservations/{reservationId}/release")
+    public ResponseEntity<?> release(@PathVariable Long reservationId) {
+        try {
+            StockReservation reservation = reservationService.release(reservationId);
+            if (reservation != null) {
+                return ResponseEntity.ok(reservation);
+            }
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", "반환할 수 없는 예약입니다 (없음/만료/처리 완료)"));
+        } catch (Exception e) {
+            logger.error("재고 예약 반환 실패: reservationId={}, error={}", reservationId, e.getMessage());
+            return ResponseEntity.internalServerError().body(Map.of("message", "서버 오류"));
+        }
+    }
+    
+    /**
+     * Hot SKU 모드 활성화 (플래시 세일 시작 전)
+     */
+    @PostMapping("/{productId}/hot")
+    public ResponseEntity<?> enableHot(@PathVariable Long productId) {
+        try {
+            Map<String, Object> status = hotInventoryService.enable(productId);
+            if (status != null) {
+                return ResponseEntity.ok(status);
+            }
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            logger.error("Hot SKU 활성화 실패: productId={}, error={}", productId, e.getMessage());
+            return ResponseEntity.internalServerError().body(Map.of("message", "서버 오류"));
+        }
+    }
+    
+    /**
+     * Hot SKU 모드 해제 (Redis 재고를 MySQL에 기록)
+     */
+    @DeleteMapping("/{productId}/hot")
+    public ResponseEntity<?> disableHot(@PathVariable Long productId) {
+        try {
+            Map<String, Object> status = hotInventoryService.disable(productId);
+            if (status != null) {
+                return ResponseEntity.ok(status);
+            }
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            logger.error("Hot SKU 해제 실패: productId={}, error={}", productId, e.getMessage());
+            return ResponseEntity.internalServerError().body(Map.of("message", "서버 오류"));
+        }
+    }
+    
+    @GetMapping("/{productId}/hot")
+    public ResponseEntity<?> getHotStatus(@PathVariable Long productId) {
+        try {
+            return ResponseEntity.ok(hotInventoryService.status(productId));
+        } catch (Exception e) {
+            logger.error("Hot SKU 상태 조회 실패: productId={}, error={}", productId, e.getMessage());
+            return ResponseEntity.internalServerError().body(Map.of("message", "서버 오류"));
+        }
+    }
+}
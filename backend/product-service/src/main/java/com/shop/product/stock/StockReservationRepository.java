@@ -0,0 +1,28 @@
+package com.shop.product.stock;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+    
+    /**
+     * RESERVED 상태에서만 전이 (동시에 commit/release/만료가 와도 한 쪽만 성공)
+     */
+    @Modifying
+    @Query("UPDATE StockReservation r SET r.status = ?2 WHERE r.id = ?1 AND r.status = 'RESERVED'")
+    int transitionFromReserved(Long id, String status);
+    
+    /**
+     * 만료 전인 예약만 확정
+     */
+    @Modifying
+    @Query("UPDATE StockReservation r SET r.status = 'COMMITTED' WHERE r.id = ?1 AND r.status = 'RESERVED' AND r.expiresAt > ?2")
+    int commitIfNotExpired(Long id, LocalDateTime now);
+    
+    @Query("SELECT r.id FROM StockReservation r WHERE r.status = 'RESERVED' AND r.expiresAt <= ?1 ORDER BY r.expiresAt")
+    List<Long> findExpiredIds(LocalDateTime now, Pageable pageable);
+}
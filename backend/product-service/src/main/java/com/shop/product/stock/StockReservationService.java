@@ -0,0 +1,191 @@
+package com.shop.product.stock;
+
+import com.shop.product.CatalogIndexer;
+import com.shop.product.ProductRepository;
+import com.shop.product.cache.ProductCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 재고 예약 (reserve → commit / release, 미확정 예약은 TTL 후 자동 반환)
+ * 재고 차감은 조건부 UPDATE 한 번으로 처리하여 JPA read-modify-write나 비관적 락 없이 초과 판매 방지
+ */
+@Service
+public class StockReservationService {
+    
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private StockReservationRepository reservationRepository;
+    
+    @Autowired
+    private ProductCache productCache;
+    
+    @Autowired
+    private HotInventoryService hotInventoryService;
+    
+    @Autowired
+    private CatalogIndexer catalogIndexer;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    // decrement 결과: 재고 부족 / SQL로 차감하여 남은 재고를 모름
+    private static final long NOT_RESERVED = -1;
+    private static final long STOCK_UNKNOWN = -2;
+    
+    @Value("${product.stock.reservation.default-ttl-seconds:600}")
+    private long defaultTtlSeconds;
+    
+    @Value("${product.stock.reservation.max-ttl-seconds:3600}")
+    private long maxTtlSeconds;
+    
+    @Value("${product.stock.reservation.sweep-batch-size:500}")
+    private int sweepBatchSize;
+    
+    /**
+     * 재고 예약
+     * @return 재고 부족 또는 상품이 없으면 null
+     */
+    @Transactional
+    public StockReservation reserve(Long productId, int quantity, Long ttlSeconds) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("수량은 1 이상이어야 합니다");
+        }
+        long ttl = ttlSeconds == null ? defaultTtlSeconds : Math.max(1, Math.min(ttlSeconds, maxTtlSeconds));
+        
+        long remaining = decrement(productId, quantity);
+        if (remaining == NOT_RESERVED) {
+            return null;
+        }
+        
+        StockReservation reservation = reservationRepository.save(
+                new StockReservation(productId, quantity, LocalDateTime.now().plusSeconds(ttl)));
+        boolean fromRedis = remaining != STOCK_UNKNOWN;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                productCache.evictItem(productId);
+                int stock = fromRedis ? (int) remaining : productRepository.findStockById(productId).orElse(0);
+                catalogIndexer.onStockChanged(productId, stock > 0);
+            }
+            
+            @Override
+            public void afterCompletion(int status) {
+                // Redis 차감은 트랜잭션 롤백 대상이 아니므로 직접 되돌림
+                if (status != STATUS_COMMITTED && fromRedis) {
+                    hotInventoryService.tryIncrement(productId, quantity);
+                }
+            }
+        });
+        return reservation;
+    }
+    
+    /**
+     * 예약 확정 (재고는 reserve 시점에 이미 차감됨)
+     * @return 예약이 없거나 이미 확정/반환/만료된 경우 null
+     */
+    @Transactional
+    public StockReservation commit(Long reservationId) {
+        if (reservationRepository.commitIfNotExpired(reservationId, LocalDateTime.now()) == 0) {
+            return null;
+        }
+        return reservationRepository.findById(reservationId).orElse(null);
+    }
+    
+    /**
+     * 예약 취소 후 재고 반환
+     * @return 예약이 없거나 이미 확정/반환/만료된 경우 null
+     */
+    @Transactional
+    public StockReservation release(Long reservationId) {
+        return returnStock(reservationId, StockReservation.RELEASED);
+    }
+    
+    /**
+     * 만료된 예약 정리 (여러 Pod에서 동시에 실행돼도 상태 전이 조건으로 한 번만 반환)
+     */
+    @Scheduled(fixedDelayString = "${product.stock.reservation.sweep-ms:5000}")
+    public void expireReservations() {
+        try {
+            List<Long> expiredIds = reservationRepository.findExpiredIds(
+                    LocalDateTime.now(), PageRequest.of(0, sweepBatchSize));
+            int expired = 0;
+            for (Long id : expiredIds) {
+                StockReservation reservation = transactionTemplate.execute(
+                        status -> returnStock(id, StockReservation.EXPIRED));
+                if (reservation != null) {
+                    expired++;
+                }
+            }
+            if (expired > 0) {
+                logger.info("만료된 재고 예약 반환: {}건", expired);
+            }
+        } catch (Exception e) {
+            logger.error("재고 예약 만료 처리 실패: {}", e.getMessage(), e);
+        }
+    }
+    
+    private StockReservation returnStock(Long reservationId, String status) {
+        StockReservation reservation = reservationRepository.findById(reservationId).orElse(null);
+        if (reservation == null || reservationRepository.transitionFromReserved(reservationId, status) == 0) {
+            return null;
+        }
+        if (!hotInventoryService.tryIncrement(reservation.getProductId(), reservation.getQuantity())) {
+            productRepository.incrementStock(reservation.getProductId(), reservation.getQuantity());
+        }
+        stockReturnedAfterCommit(reservation.getProductId());
+        
+        reservation.setStatus(status);
+        return reservation;
+    }
+    
+    /**
+     * 재고 차감: Hot SKU는 Redis 카운터, 그 외는 조건부 UPDATE
+     * 로컬 Hot 목록이 늦게 갱신된 경우에도 반대쪽 경로로 한 번 더 시도하여 전환 중 판매가 끊기지 않게 함
+     * @return Redis에서 차감했으면 남은 재고, SQL로 차감했으면 STOCK_UNKNOWN, 실패 시 NOT_RESERVED
+     */
+    private long decrement(Long productId, int quantity) {
+        if (hotInventoryService.isHot(productId)) {
+            long remaining = hotInventoryService.tryDecrement(productId, quantity);
+            if (remaining != HotInventoryService.NOT_HOT) {
+                return remaining >= 0 ? remaining : NOT_RESERVED;
+            }
+            return productRepository.decrementStock(productId, quantity) > 0 ? STOCK_UNKNOWN : NOT_RESERVED;
+        }
+        if (productRepository.decrementStock(productId, quantity) > 0) {
+            return STOCK_UNKNOWN;
+        }
+        long remaining = hotInventoryService.tryDecrement(productId, quantity);
+        return remaining >= 0 ? remaining : NOT_RESERVED;
+    }
+    
+    /**
+     * 커밋 전에 캐시를 비우면 다른 요청이 이전 재고를 다시 캐시할 수 있으므로 커밋 후 제거
+     * 반환 후에는 재고가 항상 1 이상이므로 패싯은 재고 있음으로 표시
+     */
+    private void stockReturnedAfterCommit(Long productId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                productCache.evictItem(productId);
+                catalogIndexer.onStockChanged(productId, true);
+            }
+        });
+    }
+}
@@ -0,0 +1,33 @@
+package com.shop.product.trending;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * 인기 상품 API
+ * 예: /api/products/trending?window=24h&limit=10
+ */
+@RestController
+@RequestMapping("/api/products")
+@CrossOrigin(origins = "${CORS_ALLOWED_ORIGINS}")
+public class ProductTrendingController {
+
+    @Autowired
+    private ProductTrendingService trendingService;
+
+    @GetMapping("/trending")
+    public ResponseEntity<?> getTrending(
+            @RequestParam(defaultValue = "24h") String window,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(trendingService.getTrending(window, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "서버 오류"));
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.shop.product.trending;
+
+import com.shop.product.Product;
+import com.shop.product.ProductRepository;
+import com.shop.product.cache.ProductCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 인기 상품 순위 (cart-service가 장바구니 담기/결제 성공 시 기록한 Sorted Set 버킷 조회)
+ * - 조회 구간의 버킷들을 경과 시간에 따라 감쇠한 가중치로 ZUNIONSTORE 하여 결과 키에 짧게 보관
+ * - 이후 요청은 결과 키를 ZREVRANGE로 읽기만 함 (O(log n + 조회 개수))
+ * - 가장 오래된 버킷은 현재 버킷이 지난 비율만큼 가중치를 줄여 구간 경계에서 순위가 튀지 않게 함
+ *
+ * 버킷 키 형식은 cart-service의 ProductTrendingRecorder와 동일해야 함
+ */
+@Service
+public class ProductTrendingService {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    public static final String HOURLY_KEY_PREFIX = "product:trending:h:";
+    public static final String DAILY_KEY_PREFIX = "product:trending:d:";
+    private static final String RESULT_KEY_PREFIX = "product:trending:result:";
+
+    private static final long HOUR_MILLIS = 3600_000L;
+    private static final long DAY_MILLIS = 24 * HOUR_MILLIS;
+
+    // KEYS[1]=결과 키, KEYS[2..]=버킷, ARGV[1]=TTL(초), ARGV[2]=보관 순위 수, ARGV[3..]=버킷별 가중치
+    private static final RedisScript<Long> UNION_SCRIPT = new DefaultRedisScript<>(
+            "local args = {KEYS[1], #KEYS - 1} " +
+            "for i = 2, #KEYS do args[#args + 1] = KEYS[i] end " +
+            "args[#args + 1] = 'WEIGHTS' " +
+            "for i = 3, #ARGV do args[#args + 1] = ARGV[i] end " +
+            "local size = redis.call('ZUNIONSTORE', unpack(args)) " +
+            "if size == 0 then return 0 end " +
+            "redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -tonumber(ARGV[2]) - 1) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+            "return size", Long.class);
+
+    /**
+     * 조회 구간: 버킷 종류, 버킷 수, 반감기(버킷 단위, 0이면 감쇠 없음)
+     */
+    private enum Window {
+        ONE_HOUR("1h", HOURLY_KEY_PREFIX, HOUR_MILLIS, 1),
+        ONE_DAY("24h", HOURLY_KEY_PREFIX, HOUR_MILLIS, 24),
+        ONE_WEEK("7d", DAILY_KEY_PREFIX, DAY_MILLIS, 7);
+
+        private final String name;
+        private final String keyPrefix;
+        private final long bucketMillis;
+        private final int buckets;
+
+        Window(String name, String keyPrefix, long bucketMillis, int buckets) {
+            this.name = name;
+            this.keyPrefix = keyPrefix;
+            this.bucketMillis = bucketMillis;
+            this.buckets = buckets;
+        }
+
+        static Window from(String name) {
+            for (Window window : values()) {
+                if (window.name.equalsIgnoreCase(name)) {
+                    return window;
+                }
+            }
+            throw new IllegalArgumentException("window는 1h, 24h, 7d 중 하나여야 합니다");
+        }
+    }
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCache productCache;
+
+    // 합산 결과 보관 시간 (짧을수록 최신, 길수록 ZUNIONSTORE 횟수 감소)
+    @Value("${product.trending.result-ttl-seconds:30}")
+    private long resultTtlSeconds;
+
+    @Value("${product.trending.max-size:100}")
+    private int maxSize;
+
+    @Value("${product.trending.default-limit:20}")
+    private int defaultLimit;
+
+    // 24시간 구간은 시간 단위, 7일 구간은 일 단위 반감기
+    @Value("${product.trending.half-life-hours:6}")
+    private double halfLifeHours;
+
+    @Value("${product.trending.half-life-days:2}")
+    private double halfLifeDays;
+
+    /**
+     * 인기 상품 조회
+     * 잘못된 window는 IllegalArgumentException
+     * @return {"window": "24h", "items": [{"rank", "score", "product"}, ...]}
+     */
+    public Map<String, Object> getTrending(String windowName, Integer limit) {
+        Window window = Window.from(windowName);
+        int size = limit == null ? defaultLimit : Math.max(1, Math.min(limit, maxSize));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("window", window.name);
+        result.put("items", readRanking(window, size));
+        return result;
+    }
+
+    private List<Map<String, Object>> readRanking(Window window, int size) {
+        String resultKey = RESULT_KEY_PREFIX + window.name;
+        try {
+            Set<ZSetOperations.TypedTuple<String>> ranking =
+                    stringRedisTemplate.opsForZSet().reverseRangeWithScores(resultKey, 0, size - 1);
+            if (ranking == null || ranking.isEmpty()) {
+                // 결과 키가 만료되었으면 버킷을 다시 합산 (점수가 없는 구간은 매번 합산하지만 빈 버킷이라 비용이 작음)
+                if (aggregate(window, resultKey) == 0) {
+                    return List.of();
+                }
+                ranking = stringRedisTemplate.opsForZSet().reverseRangeWithScores(resultKey, 0, size - 1);
+            }
+            return toItems(ranking);
+        } catch (Exception e) {
+            logger.warn("인기 상품 조회 실패: window={}, error={}", window.name, e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * 구간 버킷을 감쇠 가중치로 합산하여 결과 키에 저장
+     * @return 합산된 상품 수
+     */
+    private long aggregate(Window window, String resultKey) {
+        long now = System.currentTimeMillis();
+        long currentBucket = now / window.bucketMillis;
+        double elapsed = (double) (now % window.bucketMillis) / window.bucketMillis;
+        double halfLife = window == Window.ONE_WEEK ? halfLifeDays : window == Window.ONE_DAY ? halfLifeHours : 0;
+
+        // 현재 버킷부터 buckets개 전까지 (마지막 버킷은 구간에 걸친 비율만큼만 반영)
+        List<String> keys = new ArrayList<>(window.buckets + 2);
+        List<String> args = new ArrayList<>(window.buckets + 3);
+        keys.add(resultKey);
+        args.add(String.valueOf(resultTtlSeconds));
+        args.add(String.valueOf(maxSize));
+        for (int age = 0; age <= window.buckets; age++) {
+            double weight = halfLife > 0 ? Math.pow(0.5, age / halfLife) : 1.0;
+            if (age == window.buckets) {
+                weight *= 1.0 - elapsed;
+            }
+            keys.add(window.keyPrefix + (currentBucket - age));
+            args.add(String.valueOf(weight));
+        }
+
+        Long size = stringRedisTemplate.execute(UNION_SCRIPT, keys, args.toArray());
+        return size != null ? size : 0;
+    }
+
+    /**
+     * 순위에 상품 정보 결합 (삭제된 상품은 제외)
+     */
+    private List<Map<String, Object>> toItems(Set<ZSetOperations.TypedTuple<String>> ranking) {
+        List<Long> ids = new ArrayList<>(ranking.size());
+        for (ZSetOperations.TypedTuple<String> tuple : ranking) {
+            ids.add(Long.valueOf(tuple.getValue()));
+        }
+        Map<Long, Product> products = productCache.getAll(ids, productRepository::findAllById);
+
+        List<Map<String, Object>> items = new ArrayList<>(ranking.size());
+        for (ZSetOperations.TypedTuple<String> tuple : ranking) {
+            Product product = products.get(Long.valueOf(tuple.getValue()));
+            if (product == null) {
+                continue;
+            }
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("rank", items.size() + 1);
+            item.put("score", Math.round(tuple.getScore() * 100) / 100.0);
+            item.put("product", product);
+            items.add(item);
+        }
+        return items;
+    }
+}
@@ -0,0 +1,90 @@
+package com.shop.product.search;
+
+import com.shop.product.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductSuggestIndexTest {
+
+    private static Product product(long id, String name) {
+        Product product = new Product(name, "", 1000, 1, "", "상의");
+        product.setId(id);
+        return product;
+    }
+
+    private static List<Object> ids(List<Map<String, Object>> suggestions) {
+        List<Object> ids = new ArrayList<>();
+        for (Map<String, Object> suggestion : suggestions) {
+            ids.add(suggestion.get("id"));
+        }
+        return ids;
+    }
+
+    @Test
+    void splitsEdgeAtCommonPrefix() {
+        ProductSuggestIndex index = new ProductSuggestIndex();
+        index.index(product(1L, "apple"));
+        index.index(product(2L, "application"));
+
+        // root → "appl" → {"e", "ication"}
+        assertEquals(4, index.nodeCount());
+        assertEquals(List.of(1L, 2L), ids(index.suggest("app", 10)));
+        assertEquals(List.of(1L, 2L), ids(index.suggest("appl", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("apple", 10)));
+        assertEquals(List.of(2L), ids(index.suggest("applic", 10)));
+        assertTrue(index.suggest("apz", 10).isEmpty());
+    }
+
+    @Test
+    void renameMovesEntryAndMergesEmptyNodes() {
+        ProductSuggestIndex index = new ProductSuggestIndex();
+        index.index(product(1L, "apple"));
+        index.index(product(2L, "apricot"));
+
+        index.index(product(1L, "banana"));
+
+        assertTrue(index.suggest("app", 10).isEmpty());
+        assertEquals(List.of(2L), ids(index.suggest("ap", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("ban", 10)));
+        assertEquals("banana", index.suggest("ban", 10).get(0).get("name"));
+        // "ap" 노드는 자식 "ricot"과 합쳐져 root → {"apricot", "banana"}
+        assertEquals(3, index.nodeCount());
+
+        // 이름을 여러 번 바꿔도 노드 수는 늘어나지 않음
+        for (int i = 0; i < 20; i++) {
+            index.index(product(1L, i % 2 == 0 ? "apple" : "banana"));
+        }
+        assertEquals(3, index.nodeCount());
+        assertEquals(List.of(1L), ids(index.suggest("ban", 10)));
+    }
+
+    @Test
+    void ranksByPopularityAfterPendingHits() {
+        ProductSuggestIndex index = new ProductSuggestIndex();
+        for (long id = 1; id <= 12; id++) {
+            index.index(product(id, "item " + id));
+        }
+        // 같은 인기도면 먼저 등록된 상품 우선
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), ids(index.suggest("item", 10)));
+
+        for (int i = 0; i < 3; i++) {
+            index.recordHit(12L);
+        }
+        index.recordHit(11L);
+        index.applyPendingHits();
+
+        assertEquals(List.of(12L, 11L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L), ids(index.suggest("item", 10)));
+        assertEquals(List.of(12L, 11L, 1L), ids(index.suggest("ite", 3)));
+
+        // 상위 엔트리가 접두어 밖으로 이름을 바꾸면 다음 순위가 채워짐
+        index.index(product(12L, "other"));
+        assertEquals(List.of(11L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L), ids(index.suggest("item", 10)));
+        assertEquals(List.of(12L), ids(index.suggest("oth", 10)));
+    }
+}
@@ -0,0 +1,94 @@
+package com.shop.product.snapshot;
+
+import com.shop.product.Product;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CatalogSnapshotFileTest {
+
+    @TempDir
+    Path dir;
+
+    private Path writeSample() throws IOException {
+        Path target = dir.resolve("catalog.snap");
+        try (CatalogSnapshotFile.Writer writer = new CatalogSnapshotFile.Writer(target, 42L)) {
+            writer.write(1L, 25000, 10, false, "베이직 티셔츠", "봄 시즌 티셔츠", "1.jpg", "상의");
+            writer.write(7L, 0, 0, true, null, "", null, "하의");
+            writer.commit();
+        }
+        return target;
+    }
+
+    @Test
+    void readsBackWrittenRecords() throws IOException {
+        CatalogSnapshotFile.Snapshot snapshot = CatalogSnapshotFile.read(writeSample());
+
+        assertEquals(42L, snapshot.changeSeq());
+        assertTrue(snapshot.createdAt() > 0);
+        List<Product> products = snapshot.products();
+        assertEquals(2, products.size());
+
+        Product first = products.get(0);
+        assertEquals(1L, first.getId());
+        assertEquals(25000, first.getPrice());
+        assertEquals(10, first.getStock());
+        assertFalse(first.isHotSku());
+        assertEquals("베이직 티셔츠", first.getName());
+        assertEquals("봄 시즌 티셔츠", first.getDescription());
+        assertEquals("1.jpg", first.getImage());
+        assertEquals("상의", first.getCategory());
+
+        // null과 빈 문자열은 구분해서 복원
+        Product second = products.get(1);
+        assertEquals(7L, second.getId());
+        assertTrue(second.isHotSku());
+        assertNull(second.getName());
+        assertEquals("", second.getDescription());
+        assertNull(second.getImage());
+        assertEquals("하의", second.getCategory());
+    }
+
+    @Test
+    void rejectsCorruptedFile() throws IOException {
+        Path target = writeSample();
+        byte[] bytes = Files.readAllBytes(target);
+        // 첫 레코드의 price 바이트 하나를 바꿈 (헤더 24바이트 + id 8바이트 뒤)
+        bytes[24 + 8 + 3] ^= 0x01;
+        Files.write(target, bytes);
+
+        IOException error = assertThrows(IOException.class, () -> CatalogSnapshotFile.read(target));
+        assertEquals("스냅샷 CRC가 일치하지 않습니다", error.getMessage());
+    }
+
+    @Test
+    void rejectsTruncatedFile() throws IOException {
+        Path target = dir.resolve("short.snap");
+        Files.write(target, new byte[10]);
+
+        assertThrows(IOException.class, () -> CatalogSnapshotFile.read(target));
+    }
+
+    @Test
+    void uncommittedWriterLeavesNoFile() throws IOException {
+        Path target = dir.resolve("aborted.snap");
+        try (CatalogSnapshotFile.Writer writer = new CatalogSnapshotFile.Writer(target, 1L)) {
+            writer.write(1L, 1000, 1, false, "a", "b", "c", "d");
+        }
+
+        assertFalse(Files.exists(target));
+        try (var files = Files.list(dir)) {
+            assertEquals(0L, files.count());
+        }
+    }
+}